@@ -0,0 +1,21 @@
+package com.example.account.benchmark;
+
+/**
+ * 벤치마크용 설정 (로그, SQL 출력 끄고 개발 서버와 레디스 포트가 겹치지 않도록)
+ */
+final class BenchmarkProperties {
+    static final int REDIS_PORT = 6391;
+
+    static final String[] SPRING_CONTEXT = {
+            "spring.redis.port=" + REDIS_PORT,
+            "spring.datasource.url=jdbc:h2:mem:jmh",
+            "spring.h2.console.enabled=false",
+            "spring.jpa.properties.hibernate.show_sql=false",
+            "spring.jpa.properties.hibernate.format_sql=false",
+            "logging.level.root=WARN",
+            "account.query-plan-check.mode=OFF"
+    };
+
+    private BenchmarkProperties() {
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+
+/**
+ * 응답 경로의 DTO 변환, JSON 직렬화 비용
+ * 엔티티 -> TransactionDto -> UseBalance.Response -> JSON (스프링과 같은 설정의 ObjectMapper)
+ */
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Transaction transaction;
+    private TransactionDto transactionDto;
+    private UseBalance.Response response;
+
+    @Setup
+    public void setUp() {
+        transaction = Transaction.builder()
+                .account(Account.builder()
+                        .accountNumber("1000000000")
+                        .balance(10000L)
+                        .build())
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("01HZX3K4Q5R6S")
+                .amount(1000L)
+                .balanceSnapshot(9000L)
+                .transactedAt(LocalDateTime.now())
+                .build();
+        transactionDto = TransactionDto.fromEntity(transaction);
+        response = UseBalance.Response.from(transactionDto);
+    }
+
+    @Benchmark
+    public TransactionDto transactionDtoFromEntity() {
+        return TransactionDto.fromEntity(transaction);
+    }
+
+    @Benchmark
+    public UseBalance.Response useBalanceResponseFrom() {
+        return UseBalance.Response.from(transactionDto);
+    }
+
+    @Benchmark
+    public byte[] serializeUseBalanceResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] entityToJson() throws JsonProcessingException {   // 컨트롤러가 응답하는 전체 변환 경로
+        return objectMapper.writeValueAsBytes(
+                UseBalance.Response.from(TransactionDto.fromEntity(transaction)));
+    }
+
+    @Benchmark
+    public byte[] serializeQueryTransactionResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(QueryTransactionResponse.from(transactionDto));
+    }
+}
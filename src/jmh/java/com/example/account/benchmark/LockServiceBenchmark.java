@@ -0,0 +1,63 @@
+package com.example.account.benchmark;
+
+import com.example.account.service.LockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import redis.embedded.RedisServer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 계좌 락 취득/해제 비용 (임베디드 레디스 왕복 포함)
+ * 경합 없이 락 한 번을 잡고 푸는 비용만 측정 (스레드마다 다른 계좌)
+ */
+@State(Scope.Benchmark)
+public class LockServiceBenchmark {
+    private RedisServer redisServer;
+    private RedissonClient redissonClient;
+    private LockService lockService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        redisServer = new RedisServer(BenchmarkProperties.REDIS_PORT);
+        redisServer.start();
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:" + BenchmarkProperties.REDIS_PORT);
+        redissonClient = Redisson.create(config);
+        lockService = new LockService(redissonClient, new SimpleMeterRegistry());   // 메트릭 기록 비용 포함
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadAccount {   // 스레드 별 계좌번호
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+        private final String accountNumber = String.valueOf(1000000000L + SEQUENCE.getAndIncrement());
+    }
+
+    @Benchmark
+    public void lockUnlock(ThreadAccount account) {
+        lockService.lock(account.accountNumber);
+        lockService.unlock(account.accountNumber);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void lockUnlockParallel(ThreadAccount account) {   // 서로 다른 계좌 4개 동시 (로컬 스트라이프, 레디스 연결 공유)
+        lockService.lock(account.accountNumber);
+        lockService.unlock(account.accountNumber);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.account.benchmark;
+
+import com.example.account.service.SnowflakeTransactionIdGenerator;
+import com.example.account.service.TransactionIdGenerator;
+import com.example.account.service.UuidTransactionIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * 거래 id 발급 비용 비교 (기존 UUID vs Snowflake)
+ * 단일 스레드와 8 스레드 동시 발급 (UUID 는 SecureRandom 경합, Snowflake 는 CAS 경합)
+ * ./gradlew jmh 로 실행
+ */
+@State(Scope.Benchmark)
+public class TransactionIdGeneratorBenchmark {
+    private final TransactionIdGenerator uuid = new UuidTransactionIdGenerator();
+    private final TransactionIdGenerator snowflake = new SnowflakeTransactionIdGenerator(0L);
+
+    @Benchmark
+    public String uuid() {
+        return uuid.nextId();
+    }
+
+    @Benchmark
+    public String snowflake() {
+        return snowflake.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String uuidContended() {
+        return uuid.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String snowflakeContended() {
+        return snowflake.nextId();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.account.benchmark;
+
+import com.example.account.AccountApplication;
+import com.example.account.dto.TransactionDto;
+import com.example.account.service.AccountService;
+import com.example.account.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 잔액 사용/취소 서비스 경로 (H2 + JPA, 락 AOP 는 컨트롤러에 있으므로 제외)
+ * 웹 서버 없이 애플리케이션 컨텍스트만 띄우고 서비스 빈을 직접 호출
+ */
+@State(Scope.Benchmark)
+public class TransactionServiceBenchmark {
+    private static final long AMOUNT = 10L;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private String accountNumber;
+    private String transactionId;   // 반복해서 취소할 사용 거래
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AccountApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(BenchmarkProperties.SPRING_CONTEXT)
+                .run();
+        transactionService = context.getBean(TransactionService.class);
+        accountNumber = context.getBean(AccountService.class)
+                .createAccount(1L, Long.MAX_VALUE / 2)   // 측정 중에 잔액이 부족해지지 않도록
+                .getAccountNumber();
+        transactionId = transactionService.useBalance(1L, accountNumber, AMOUNT).getTransactionId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionDto useBalance() {
+        return transactionService.useBalance(1L, accountNumber, AMOUNT);
+    }
+
+    @Benchmark
+    public TransactionDto cancelBalance() {
+        return transactionService.cancelBalance(transactionId, accountNumber, AMOUNT);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.account.aop;
 
+import com.example.account.type.LockMode;
+
 import java.lang.annotation.*;
 
 @Target(ElementType.METHOD)    // 어노테이션을 붙일 수 있는 타겟
@@ -8,4 +10,7 @@ import java.lang.annotation.*;
 @Inherited    // 상속 가능한 구조로 설정
 public @interface AccountLock {
     long tryLockTIme() default 5000L;    // 해당 시간 동안 기다려주겠다 (5초)
+    long leaseTime() default 15000L;    // 락을 잡은 후 이 시간이 지나면 자동으로 풀림 (15초)
+    LockMode mode() default LockMode.NON_FAIR;    // 락 취득 방식
+    boolean skipForHotAccount() default false;    // 잔액이 분할된 핫 계좌면 락 없이 진행 (슬롯 단위로만 경합)
 }
@@ -0,0 +1,5 @@
+package com.example.account.aop;
+
+public interface AccountOwnerIdInterface extends AccountLockIdInterface {   // 계좌번호와 함께 사용자 id 가 들어오는 요청 (소유주 사전 확인용)
+    Long getUserId();
+}
@@ -0,0 +1,10 @@
+package com.example.account.aop;
+
+import java.lang.annotation.*;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface Idempotent {   // Idempotency-Key 헤더가 같은 요청은 한번만 처리하고 이후에는 저장된 응답을 돌려줌
+}
@@ -0,0 +1,11 @@
+package com.example.account.aop;
+
+import java.lang.annotation.*;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface LatencyBudget {
+    long value() default 1000L;    // 엔드포인트가 응답해야 하는 허용 시간 (ms), 초과시 카운트&로그
+}
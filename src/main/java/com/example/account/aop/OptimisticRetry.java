@@ -0,0 +1,10 @@
+package com.example.account.aop;
+
+import java.lang.annotation.*;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface OptimisticRetry {   // OPTIMISTIC 모드에서 버전 충돌이 나면 트랜잭션을 처음부터 다시 실행
+}
@@ -0,0 +1,23 @@
+package com.example.account.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 메트릭 (/actuator/prometheus)
+ * - 컨트롤러: 스프링이 기록하는 http.server.requests (uri, status 태그, 히스토그램은 application.yml)
+ * - 서비스: @Timed 를 붙인 메소드 (account.service, class/method/exception 태그)
+ * - 락: LockService (redis.lock.*, endpoint 태그: @AccountLock 엔드포인트, useBalanceBatch, 리액티브 엔드포인트)
+ * - 에러: GlobalExceptionHandler (account.error, code 태그)
+ * - 커넥션: 히카리 풀 (hikaricp.connections.*, 자동 등록), 레디스 (RedisClientMetrics)
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {   // @Timed 를 처리 (스프링 부트 2.x 는 자동 등록하지 않음)
+        return new TimedAspect(meterRegistry);
+    }
+}
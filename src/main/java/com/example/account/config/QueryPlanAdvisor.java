@@ -0,0 +1,232 @@
+package com.example.account.config;
+
+import com.example.account.type.QueryPlanCheckMode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.Entity;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+/**
+ * 시작 시 파생 쿼리(findByXxx 등)마다 EXPLAIN 을 실행해서 풀스캔 여부를 점검
+ * 주요 쿼리(hot-queries)가 풀스캔이거나 점검할 수 없으면 mode 에 따라 경고하거나 시작을 실패시킴
+ * (이름이 틀렸거나, @Query 로 바뀌었거나, 실행계획을 볼 수 없는 주요 쿼리를 통과로 보지 않음)
+ * (실행계획 형식이 DB 마다 달라서 현재는 H2 만 점검)
+ */
+@Slf4j
+@Component
+public class QueryPlanAdvisor {
+    private static final String H2_TABLE_SCAN = "tableScan";   // H2 EXPLAIN 에서 인덱스 없이 전체를 읽을 때 표시
+
+    private final ApplicationContext applicationContext;
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final QueryPlanCheckMode mode;
+    private final Set<String> hotQueries;
+
+    public QueryPlanAdvisor(
+            ApplicationContext applicationContext,
+            EntityManagerFactory entityManagerFactory,
+            DataSource dataSource,
+            @Value("${account.query-plan-check.mode:WARN}") QueryPlanCheckMode mode,
+            @Value("${account.query-plan-check.hot-queries:}") Set<String> hotQueries) {
+        this.applicationContext = applicationContext;
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+        this.mode = mode;
+        this.hotQueries = hotQueries;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkOnStartup() {
+        if (mode == QueryPlanCheckMode.OFF) {
+            return;
+        }
+        if (!isH2()) {
+            log.info("Query plan check skipped (only H2 plans are supported)");
+            return;
+        }
+
+        List<String> hotFullScans = new ArrayList<>();
+        Set<String> uncheckedHotQueries = new TreeSet<>(hotQueries);
+        for (QueryPlan queryPlan : explainDerivedQueries()) {
+            uncheckedHotQueries.remove(queryPlan.getQueryName());
+            if (!queryPlan.isFullScan()) {
+                log.debug("Query plan ok. {} -> {}", queryPlan.getQueryName(), queryPlan.getPlan());
+            } else if (queryPlan.isHot()) {
+                log.warn("Hot query does a full table scan. {}\n{}", queryPlan.getQueryName(), queryPlan.getPlan());
+                hotFullScans.add(queryPlan.getQueryName());
+            } else {
+                log.info("Query does a full table scan. {}", queryPlan.getQueryName());
+            }
+        }
+
+        if (!uncheckedHotQueries.isEmpty()) {
+            log.warn("Hot queries could not be checked. {}", uncheckedHotQueries);
+        }
+
+        if (mode == QueryPlanCheckMode.FAIL && (!hotFullScans.isEmpty() || !uncheckedHotQueries.isEmpty())) {
+            throw new IllegalStateException("Hot queries do full table scans: " + hotFullScans
+                    + ", could not be checked: " + uncheckedHotQueries);
+        }
+    }
+
+    public List<QueryPlan> explainDerivedQueries() {
+        Repositories repositories = new Repositories(applicationContext);
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<QueryPlan> queryPlans = new ArrayList<>();
+
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation repositoryInformation =
+                    repositories.getRepositoryInformationFor(domainType).orElse(null);
+            if (repositoryInformation == null) {
+                continue;
+            }
+            AbstractEntityPersister persister = (AbstractEntityPersister)
+                    sessionFactory.getMetamodel().entityPersister(domainType);
+
+            for (Method method : repositoryInformation.getQueryMethods()) {
+                if (method.isAnnotationPresent(Query.class)) {   // 직접 작성한 쿼리는 대상 아님
+                    continue;
+                }
+                String queryName = repositoryInformation.getRepositoryInterface().getSimpleName()
+                        + "." + method.getName();
+                try {
+                    List<Object> args = new ArrayList<>();
+                    String sql = toSelectSql(new PartTree(method.getName(), domainType), persister, args);
+                    if (sql == null) {   // 조건이 없는 쿼리
+                        continue;
+                    }
+                    String plan = String.join("\n",
+                            jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args.toArray()));
+                    queryPlans.add(new QueryPlan(queryName, sql, plan,
+                            plan.contains(H2_TABLE_SCAN), hotQueries.contains(queryName)));
+                } catch (Exception e) {   // 해석할 수 없는 쿼리는 점검만 건너뜀 (주요 쿼리면 checkOnStartup 에서 경고/실패)
+                    if (hotQueries.contains(queryName)) {
+                        log.warn("Query plan check failed for hot query. {}", queryName, e);
+                    } else {
+                        log.debug("Query plan check skipped. {}", queryName, e);
+                    }
+                }
+            }
+        }
+        return queryPlans;
+    }
+
+    private String toSelectSql(PartTree partTree, AbstractEntityPersister persister, List<Object> args) {
+        StringJoiner where = new StringJoiner(" or ");
+        for (PartTree.OrPart orPart : partTree) {
+            StringJoiner and = new StringJoiner(" and ", "(", ")");
+            for (Part part : orPart) {
+                String operator = toOperator(part.getType());
+                PropertyPath property = part.getProperty();
+                if (operator == null || property.hasNext()) {   // 중첩 속성, 지원하지 않는 조건은 제외
+                    continue;
+                }
+                for (String column : columnsOf(persister, property.getSegment())) {
+                    and.add(column + " " + operator + " ?");
+                    args.add(sampleValue(property.getType()));
+                }
+            }
+            if (and.length() > 2) {
+                where.add(and.toString());
+            }
+        }
+        if (where.length() == 0) {
+            return null;
+        }
+
+        return "select * from " + persister.getTableName() + " where " + where;
+    }
+
+    private String[] columnsOf(AbstractEntityPersister persister, String propertyName) {
+        if (propertyName.equals(persister.getIdentifierPropertyName())) {
+            return persister.getIdentifierColumnNames();
+        }
+        return persister.getPropertyColumnNames(propertyName);
+    }
+
+    private String toOperator(Part.Type type) {
+        switch (type) {
+            case SIMPLE_PROPERTY:
+                return "=";
+            case GREATER_THAN:
+            case AFTER:
+                return ">";
+            case GREATER_THAN_EQUAL:
+                return ">=";
+            case LESS_THAN:
+            case BEFORE:
+                return "<";
+            case LESS_THAN_EQUAL:
+                return "<=";
+            default:
+                return null;
+        }
+    }
+
+    private Object sampleValue(Class<?> type) {   // 실행계획만 보므로 타입만 맞는 임의의 값
+        if (type.isEnum()) {
+            return ((Enum<?>) type.getEnumConstants()[0]).name();
+        }
+        if (type == String.class) {
+            return "";
+        }
+        if (type == LocalDateTime.class) {
+            return Timestamp.valueOf(LocalDateTime.now());
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return false;
+        }
+        if (Number.class.isAssignableFrom(type) || type.isPrimitive()
+                || type.isAnnotationPresent(Entity.class)) {   // 연관 엔티티는 FK(id) 로 비교
+            return 0L;
+        }
+        return null;
+    }
+
+    private boolean isH2() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "H2".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (Exception e) {
+            log.warn("Failed to read database product name", e);
+            return false;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class QueryPlan {
+        private String queryName;   // 리포지토리.메소드
+        private String sql;
+        private String plan;
+        private boolean fullScan;
+        private boolean hot;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.account.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.Node;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.SingleServerConfig;
+import org.springframework.stereotype.Component;
+
+/**
+ * 레디슨 커넥션 풀 게이지
+ * 오픈소스 레디슨은 풀 사용량을 외부에 내보내지 않아서, 설정된 풀 크기와
+ * 레디스 서버가 보는 연결 수(INFO clients)를 같이 노출 -> 연결 수가 풀 크기에 붙어 있으면 풀 부족
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisClientMetrics implements MeterBinder {
+    private final RedissonClient redissonClient;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        SingleServerConfig config = redissonClient.getConfig().useSingleServer();   // RedisRepositoryConfig 는 단일 서버 설정
+        Gauge.builder("redisson.pool.max", config, SingleServerConfig::getConnectionPoolSize)
+                .tag("type", "command")
+                .register(registry);
+        Gauge.builder("redisson.pool.max", config, SingleServerConfig::getSubscriptionConnectionPoolSize)
+                .tag("type", "subscription")
+                .register(registry);
+        Gauge.builder("redisson.pool.min.idle", config, SingleServerConfig::getConnectionMinimumIdleSize)
+                .register(registry);
+
+        Gauge.builder("redis.clients.connected", this, metrics -> metrics.clientsInfo("connected_clients"))
+                .description("Connections seen by the Redis servers (sum over all nodes)")
+                .register(registry);
+        Gauge.builder("redis.clients.blocked", this, metrics -> metrics.clientsInfo("blocked_clients"))
+                .description("Clients blocked on a command (sum over all nodes)")
+                .register(registry);
+    }
+
+    private double clientsInfo(String field) {   // 수집할 때마다 모든 노드의 INFO clients 를 더함 (하나도 못 읽으면 NaN)
+        double sum = 0;
+        boolean found = false;
+        try {
+            for (Node node : redissonClient.getNodesGroup().getNodes()) {
+                String value = node.info(Node.InfoSection.CLIENTS).get(field);
+                if (value != null) {
+                    sum += Double.parseDouble(value);
+                    found = true;
+                }
+            }
+        } catch (Exception e) {   // 일부 노드만 읽었으면 합이 작게 나오므로 버림
+            log.debug("Failed to read redis INFO clients", e);
+            return Double.NaN;
+        }
+        return found ? sum : Double.NaN;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.account.config;
+
+import com.example.account.type.TracingExporter;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.nio.file.Paths;
+
+/**
+ * 분산 추적 (account.tracing.enabled=true)
+ * 요청(TracingFilter) -> 락 취득/해제, TransactionService, 리포지토리(TracingAspect) 순으로 span 이 이어짐
+ * - 샘플링: 요청 단위로 sampling-ratio 만큼만 기록 (기록하지 않는 요청은 span 을 만들지 않는 수준의 비용)
+ *   상위 서비스에서 traceparent 헤더로 넘어온 요청은 상위의 샘플링 결정을 따름
+ * - 내보내기: 별도 스레드에서 모아서(BatchSpanProcessor) 컬렉터 또는 파일로
+ * 꺼져 있으면 아무것도 하지 않는 noop 트레이서를 사용
+ */
+@Slf4j
+@Configuration
+public class TracingConfig {
+    private static final String INSTRUMENTATION_NAME = "com.example.account";
+
+    @Bean
+    public OpenTelemetry openTelemetry(
+            @Value("${account.tracing.enabled:false}") boolean enabled,
+            @Value("${account.tracing.exporter:FILE}") TracingExporter exporter,
+            @Value("${account.tracing.sampling-ratio:0.01}") double samplingRatio,
+            @Value("${account.tracing.otlp-endpoint:http://localhost:4318/v1/traces}") String otlpEndpoint,
+            @Value("${account.tracing.file:build/traces/spans.jsonl}") String file,
+            @Value("${spring.application.name:account}") String serviceName) {
+        if (!enabled) {
+            return OpenTelemetry.noop();
+        }
+
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(Resource.create(
+                        Attributes.of(AttributeKey.stringKey("service.name"), serviceName))))
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(samplingRatio)))
+                .addSpanProcessor(BatchSpanProcessor.builder(spanExporter(exporter, otlpEndpoint, file)).build())
+                .build();
+        log.info("Tracing enabled. exporter : {}, sampling ratio : {}", exporter, samplingRatio);
+
+        return OpenTelemetrySdk.builder()   // 종료 시 close -> 남은 span 을 내보내고 끝남
+                .setTracerProvider(tracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+    }
+
+    @Bean
+    public Tracer tracer(OpenTelemetry openTelemetry) {
+        return openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(OpenTelemetry openTelemetry, Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration =
+                new FilterRegistrationBean<>(new TracingFilter(openTelemetry, tracer));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);   // 요청 span 이 다른 필터 처리 시간까지 포함하도록
+        return registration;
+    }
+
+    private SpanExporter spanExporter(TracingExporter exporter, String otlpEndpoint, String file) {
+        if (exporter == TracingExporter.OTLP) {
+            return OtlpHttpSpanExporter.builder()
+                    .setEndpoint(otlpEndpoint)
+                    .build();
+        }
+        return new FileSpanExporter(Paths.get(file));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.account.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * 가상 스레드 실행 모드 (account.threads.virtual=true)
+ * 요청 스레드는 대부분 레디스 락 대기(RLock.tryLock), JDBC 에서 막혀 있으므로
+ * 톰캣 스레드 풀 크기 대신 요청마다 가상 스레드를 사용 -> 막혀 있는 동안 캐리어 스레드를 다른 요청이 씀
+ * (LockService 대기도 요청 스레드에서 하므로 같이 가상 스레드에서 기다림)
+ */
+@Configuration
+@ConditionalOnProperty(name = "account.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadExecutorCustomizer() {   // 톰캣 요청 처리
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {   // 비동기 MVC (NDJSON 내보내기 등)
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -1,16 +1,20 @@
 package com.example.account.controller;
 
+import com.example.account.aop.AccountLock;
 import com.example.account.domain.Account;
+import com.example.account.dto.AccountBalance;
 import com.example.account.dto.AccountInfo;
 import com.example.account.dto.CreateAccount;
 import com.example.account.dto.DeleteAccount;
+import com.example.account.dto.SplitAccount;
 import com.example.account.service.AccountService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController   // 이 컨트롤러로 빈으로 등록
 @RequiredArgsConstructor
@@ -42,17 +46,25 @@ public class AccountController {   // controller에 호출을 시킬 수 있는
         );
     }
 
+    @PostMapping("/account/split")
+    @AccountLock   // 분할하는 동안 같은 계좌의 사용/취소를 막음
+    public SplitAccount.Response splitAccount(   // 핫 계좌 잔액을 슬롯으로 분할
+            @RequestBody @Valid SplitAccount.Request request
+    ) {
+        return SplitAccount.Response.from(
+                accountService.splitAccountBalance(
+                        request.getUserId(),
+                        request.getAccountNumber(),
+                        request.getSlots()
+                )
+        );
+    }
+
     @GetMapping("/account")
     public List<AccountInfo> getAccountsByUserId(
             @RequestParam("user_id") Long userId
     ) {
-        return accountService.getAccountsByUserId(userId)   // List<AccountInfo> -> List<AccountInfo> 형변환
-                .stream().map(accountDto ->
-                        AccountInfo.builder()
-                        .accountNumber(accountDto.getAccountNumber())
-                        .balance(accountDto.getBalance())
-                        .build())
-                .collect(Collectors.toList());
+        return accountService.getAccountInfosByUserId(userId);   // 리포지토리에서 바로 AccountInfo 로 조회
     }
 
     @GetMapping("/account/{id}")
@@ -61,5 +73,13 @@ public class AccountController {   // controller에 호출을 시킬 수 있는
         return accountService.getAccount(id); // getAccount를 id로 호출
         // Account 테이블에서 id로 SELECT를 하고, 그 값을 응답으로 받음
     }
-}
 
+    @GetMapping("/account/{accountNumber}/balance")
+    public AccountBalance getBalance(
+            @PathVariable String accountNumber,
+            @RequestParam(value = "at", required = false)   // 특정 시점 잔액 (LEDGER 모드)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        return accountService.getBalance(accountNumber, at);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.account.controller;
+
+import com.example.account.aop.LatencyBudget;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.service.IdempotencyAspect;
+import com.example.account.service.ReactiveTransactionService;
+import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+/**
+ * 잔액 사용/취소 논블로킹 버전
+ * Mono 를 돌려주면 서블릿 요청 스레드는 바로 반환되고, 락을 잡고 처리가 끝나면 응답
+ * (요청/응답 형식과 에러 응답은 /transaction/** 과 같음)
+ * - 허용 응답시간(@LatencyBudget)은 Mono 가 끝날 때까지 측정 (엔드포인트 이름 reactiveUseBalance, reactiveCancelBalance)
+ * - 멱등성(@Idempotent)은 지원하지 않음 -> Idempotency-Key 헤더가 있으면 중복 처리되지 않도록 INVALID_REQUEST 로 거절
+ *   (재시도에 안전해야 하는 클라이언트는 /transaction/** 을 사용)
+ */
+@RestController
+@RequiredArgsConstructor
+public class ReactiveTransactionController {
+    private final ReactiveTransactionService reactiveTransactionService;
+
+    @PostMapping("/reactive/transaction/use")
+    @LatencyBudget
+    public Mono<UseBalance.Response> reactiveUseBalance(
+            @RequestHeader(value = IdempotencyAspect.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody UseBalance.Request request
+    ) {
+        rejectIdempotencyKey(idempotencyKey);
+        return reactiveTransactionService.useBalance(request.getUserId(),
+                        request.getAccountNumber(), request.getAmount())
+                .map(UseBalance.Response::from);
+    }
+
+    @PostMapping("/reactive/transaction/cancel")
+    @LatencyBudget
+    public Mono<CancelBalance.Response> reactiveCancelBalance(
+            @RequestHeader(value = IdempotencyAspect.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CancelBalance.Request request
+    ) {
+        rejectIdempotencyKey(idempotencyKey);
+        return reactiveTransactionService.cancelBalance(request.getTransactionId(),
+                        request.getAccountNumber(), request.getAmount())
+                .map(CancelBalance.Response::from);
+    }
+
+    private void rejectIdempotencyKey(String idempotencyKey) {   // 멱등성을 기대한 재시도가 두번 처리되지 않도록
+        if (idempotencyKey != null) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+    }
+}
@@ -1,38 +1,68 @@
 package com.example.account.controller;
 
 import com.example.account.aop.AccountLock;
+import com.example.account.aop.Idempotent;
+import com.example.account.aop.LatencyBudget;
 import com.example.account.dto.CancelBalance;
 import com.example.account.dto.QueryTransactionResponse;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistory;
 import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
 import com.example.account.exception.AccountException;
+import com.example.account.service.FailedTransactionRecorder;
+import com.example.account.service.ProcessingDelaySimulator;
+import com.example.account.service.TransactionBatchService;
+import com.example.account.service.TransactionHistoryService;
 import com.example.account.service.TransactionService;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
 
 /**
  * 잔액 관련 컨트롤러
  * 1. 잔액 사용
- * 2. 잔액 사용 취소
- * 3. 거래 확인
+ * 2. 잔액 사용 일괄 처리
+ * 3. 잔액 사용 취소
+ * 4. 거래 확인
+ * 5. 계좌별 거래 내역 (페이지 조회, NDJSON 내보내기)
  */
 @Slf4j
 @RestController  // 스프링의 빈으로 자동 등록
 @RequiredArgsConstructor
 public class TransactionController {
     private final TransactionService transactionService;
+    private final TransactionBatchService transactionBatchService;
+    private final FailedTransactionRecorder failedTransactionRecorder;
+    private final ProcessingDelaySimulator processingDelaySimulator;
+    private final TransactionHistoryService transactionHistoryService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/transaction/use")
-    @AccountLock   // 동시성 제어 필요
+    @LatencyBudget   // 허용 응답시간 초과 시 카운트
+    @Idempotent   // Idempotency-Key 가 같은 재시도는 락, DB 없이 처음 응답을 돌려줌
+    @AccountLock(tryLockTIme = 1000L, leaseTime = 15000L)   // 동시성 제어 필요 (1초 대기, 15초 후 자동 해제)
     public UseBalance.Response useBalance(   // 응답 반환
             @Valid @RequestBody UseBalance.Request request  // 요청 필요
-    ) throws InterruptedException {
+    ) {
 
         try {
-            Thread.sleep(3000L);   // 스레드 슬립을 함 (3초) -> 거래 성공 응답을 3초 뒤에 함
+            processingDelaySimulator.simulate();   // lock-test 프로필에서만 락을 잡은 채로 지연 (기본 0)
             return UseBalance.Response.from(  // UseBalance 처리 후, 응답을 반환
                     transactionService.useBalance(request.getUserId(),
                             request.getAccountNumber(), request.getAmount())
@@ -40,7 +70,7 @@ public class TransactionController {
         } catch (AccountException e) {
             log.error("Failed to use balance. ");   // 의도적으로 만든 에러가 발생 시에는 로그 찍기
 
-            transactionService.saveFailedUseTransaction(   // 실패건을 저장
+            failedTransactionRecorder.record(USE,   // 실패건은 큐에 넣고 바로 락을 풂 (백그라운드에서 저장)
                     request.getAccountNumber(),
                     request.getAmount()
             );
@@ -49,8 +79,21 @@ public class TransactionController {
         }
     }
 
+    @PostMapping("/transaction/use/batch")
+    @LatencyBudget(5000L)   // 여러 건을 처리하므로 허용 응답시간을 길게
+    public UseBalanceBatch.Response useBalanceBatch(   // 계좌 별로 락은 한번만 잡음 (서비스에서 처리)
+            @Valid @RequestBody UseBalanceBatch.Request request
+    ) {
+        return UseBalanceBatch.Response.builder()
+                .results(transactionBatchService.useBalanceBatch(request.getItems()))  // 건별 성공/실패 응답
+                .build();
+    }
+
     @PostMapping("/transaction/cancel")
-    @AccountLock   // 동시성 제어 필요
+    @LatencyBudget   // 허용 응답시간 초과 시 카운트
+    @Idempotent
+    @AccountLock(tryLockTIme = 1000L, leaseTime = 15000L,
+            skipForHotAccount = true)   // 동시성 제어 필요 (1초 대기, 15초 후 자동 해제), 분할된 핫 계좌는 락 없이 슬롯에 입금
     public CancelBalance.Response cancelBalance(   // 응답 반환
             @Valid @RequestBody CancelBalance.Request request  // 요청 필요
     ) {
@@ -63,7 +106,7 @@ public class TransactionController {
         } catch (AccountException e) {
             log.error("Failed to use balance. ");   // 의도적으로 만든 에러가 발생 시에는 로그 찍기
 
-            transactionService.saveFailedCancelTransaction(   // 실패건을 저장
+            failedTransactionRecorder.record(CANCEL,   // 실패건은 큐에 넣고 바로 락을 풂 (백그라운드에서 저장)
                     request.getAccountNumber(),
                     request.getAmount()
             );
@@ -79,4 +122,54 @@ public class TransactionController {
                 transactionService.queryTransaction(transactionId)
         );
     }
+
+    @GetMapping("/account/{accountNumber}/transactions")
+    public TransactionHistory.Response getTransactionHistory(
+            @PathVariable String accountNumber,
+            @RequestParam(value = "type", required = false) TransactionType transactionType,
+            @RequestParam(value = "result", required = false) TransactionResultType transactionResult,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "cursor", required = false) String cursor,   // 이전 응답의 nextCursor (첫 페이지는 생략)
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        return TransactionHistory.Response.from(
+                transactionHistoryService.getTransactionHistory(accountNumber,
+                        new TransactionHistory.Condition(transactionType, transactionResult, from, to),
+                        cursor, size)
+        );
+    }
+
+    @GetMapping(value = "/account/{accountNumber}/transactions/export",
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTransactionHistory(   // 한 줄에 거래 하나씩 (대량 내보내기용)
+            @PathVariable String accountNumber,
+            @RequestParam(value = "type", required = false) TransactionType transactionType,
+            @RequestParam(value = "result", required = false) TransactionResultType transactionResult,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        Long accountId = transactionHistoryService.getAccountId(accountNumber);   // 응답을 쓰기 전에 계좌 없음 에러를 돌려줌
+        TransactionHistory.Condition condition =
+                new TransactionHistory.Condition(transactionType, transactionResult, from, to);
+
+        StreamingResponseBody body = outputStream ->
+                transactionHistoryService.exportTransactions(accountId, condition, transactionDto -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(
+                                QueryTransactionResponse.from(transactionDto)));
+                        outputStream.write('\n');
+                    } catch (IOException e) {   // 클라이언트가 연결을 끊은 경우 등 (스트림을 닫고 중단)
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 }
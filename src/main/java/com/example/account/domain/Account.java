@@ -17,18 +17,25 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder // 객체 생성 (위의 NAC와 AAC 필요)
 @Entity  // 일종의 설정 클래스(자바 객체처럼 보이지만 사실은 설정)
+@Table(indexes = {   // 매 요청마다 계좌번호로 조회하므로 풀스캔이 되지 않도록 유니크 인덱스
+        @Index(name = "ux_account_account_number", columnList = "accountNumber", unique = true)
+})
 public class Account extends BaseEntity{   // Account 테이블 구조
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)   // 검증에는 소유주 id 만 필요하므로 사용자는 필요할 때만 조회
     private AccountUser accountUser;   // Account 안에는 하위로 AccountUser가 있음 (AccountUser 한 명이 N개의 Account 가질수 있음
     private String accountNumber;
 
     @Enumerated(EnumType.STRING)  // enum이 0,1,2.. 순차적인 아닌 스트링으로 DB 테이블에 저장
     private AccountStatus accountStatus;
-    private Long balance;
+    private Long balance;   // 분할된 계좌는 0 (잔액은 balance_slot 합)
+    private Integer balanceSlots;   // 핫 계좌 잔액 분할 슬롯 수 (null 이면 분할 안함)
 
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
 
+    @Version  // OPTIMISTIC 모드에서 동시에 잔액을 바꾸면 나중에 커밋하는 쪽이 실패
+    private Long version;
+
     public void useBalance(Long amount) {  // 계좌 잔액 사용
         if (amount > balance) {
             throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
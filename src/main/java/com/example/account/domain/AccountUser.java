@@ -1,10 +1,12 @@
 package com.example.account.domain;
 
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
@@ -19,4 +21,9 @@ import java.time.LocalDateTime;
 @Entity
 public class AccountUser extends BaseEntity{
     private String name;  // (특수데이터)사용자의 이름
+
+    @Builder.Default
+    @ColumnDefault("0")   // data.sql 처럼 컬럼을 지정하지 않고 넣은 사용자는 0
+    @Column(nullable = false)
+    private Integer accountCount = 0;  // 보유 계좌 수 (생성/해지 시 조건부 UPDATE 로 갱신, 계좌 테이블을 세지 않도록)
 }
@@ -0,0 +1,29 @@
+package com.example.account.domain;
+
+import com.example.account.type.TransactionType;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(indexes = {   // 계좌마다 순번은 하나만 (여러 서버가 같은 순번을 쓰면 나중 쪽이 실패)
+        @Index(name = "ux_balance_journal_account_sequence", columnList = "account_id, sequence", unique = true)
+})
+public class BalanceJournal extends BaseEntity {   // 잔액 원장 (LEDGER 모드, 추가만 하고 수정하지 않음)
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Account account;
+    private Long sequence;   // 계좌별 1, 2, 3, ...
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+    private Long delta;   // 잔액 변화량 (사용: -, 취소: +)
+    private Long balance;   // 반영 후 잔액
+
+    private LocalDateTime journaledAt;
+}
@@ -0,0 +1,21 @@
+package com.example.account.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(indexes = {
+        @Index(name = "ux_balance_slot_account_slot_index", columnList = "account_id, slotIndex", unique = true)
+})
+public class BalanceSlot extends BaseEntity {   // 핫 계좌의 분할 잔액 (계좌 잔액 = 모든 슬롯의 합)
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Account account;
+    private Integer slotIndex;   // 0 ~ (슬롯 수 - 1)
+    private Long balance;
+}
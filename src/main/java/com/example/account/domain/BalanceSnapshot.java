@@ -0,0 +1,24 @@
+package com.example.account.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(indexes = {
+        @Index(name = "ux_balance_snapshot_account_sequence", columnList = "account_id, sequence", unique = true)
+})
+public class BalanceSnapshot extends BaseEntity {   // N번째 원장마다 저장하는 잔액 (복구 시 여기부터 원장을 다시 더함)
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Account account;
+    private Long sequence;   // 이 순번까지 반영된 잔액
+    private Long balance;
+
+    private LocalDateTime snapshotAt;
+}
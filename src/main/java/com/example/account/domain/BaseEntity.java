@@ -1,12 +1,15 @@
 package com.example.account.domain;
 
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
 import java.time.LocalDateTime;
@@ -19,7 +22,14 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)  // 자동으로 생성시간, 업데이트시간을 현재시간으로 담아줌
 public class BaseEntity {
     @Id
-    @GeneratedValue  // 자동으로 값 생성하도록 (1, 2, 3, ...)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_sequence")  // 자동으로 값 생성하도록 (1, 2, 3, ...)
+    @GenericGenerator(name = "pooled_sequence",
+            strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                    @Parameter(name = "prefer_sequence_per_entity", value = "true"),  // 엔티티 별 시퀀스 (account_seq, transaction_seq ...)
+                    @Parameter(name = "optimizer", value = "pooled-lo"),  // 시퀀스 한번 조회로 50개의 id를 메모리에서 발급
+                    @Parameter(name = "increment_size", value = "50")
+            })
     private Long id;    // Account 테이블에 id란 이름으로 PrimaryKey 지정
 
     @CreatedDate  // 데이터를 자동으로 저장
@@ -17,6 +17,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = "ux_transaction_transaction_id", columnList = "transactionId", unique = true),   // 거래 조회/취소
+        @Index(name = "ix_transaction_account_transacted_at", columnList = "account_id, transactedAt, id")   // 계좌별 거래 내역 (시간순, 같은 시각은 id 순)
+})
 public class Transaction extends BaseEntity{   // TransactionRepository에 사용
     // TransactionController -> TransactionService -> Transaction 구조
 
@@ -25,7 +29,7 @@ public class Transaction extends BaseEntity{   // TransactionRepository에 사
     @Enumerated(EnumType.STRING)
     private TransactionResultType transactionResultType;
 
-    @ManyToOne   // Transacion N개가 특정 Account 하나에 연결 되도록.
+    @ManyToOne(fetch = FetchType.LAZY)   // Transacion N개가 특정 Account 하나에 연결 되도록. (계좌가 필요한 조회는 엔티티 그래프로 함께 가져옴)
     private Account account;
     private Long amount; // 거래 금액
     private Long balanceSnapshot;  // 거래 후 계좌 잔액
@@ -0,0 +1,16 @@
+package com.example.account.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountBalance {   // 계좌 잔액 (현재 또는 특정 시점)
+    private String accountNumber;
+    private Long balance;
+    private LocalDateTime at;   // 잔액 기준 시각
+}
@@ -15,6 +15,7 @@ public class AccountDto {  // Account 엔티티 클래스와 거의 비슷한데
     private Long userId;
     private String accountNumber;
     private Long balance;
+    private Integer balanceSlots;
 
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
@@ -24,6 +25,7 @@ public class AccountDto {  // Account 엔티티 클래스와 거의 비슷한데
                 .userId(account.getAccountUser().getId())
                 .accountNumber(account.getAccountNumber())
                 .balance(account.getBalance())
+                .balanceSlots(account.getBalanceSlots())
                 .registeredAt(account.getRegisteredAt())
                 .unRegisteredAt(account.getUnRegisteredAt())
                 .build();
@@ -0,0 +1,14 @@
+package com.example.account.dto;
+
+import com.example.account.type.AccountStatus;
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountOwnership {   // 요청 검증에 필요한 계좌 정보만 (소유주 id, 상태)
+    private Long accountId;
+    private Long ownerId;
+    private AccountStatus accountStatus;
+}
@@ -0,0 +1,18 @@
+package com.example.account.dto;
+
+import com.example.account.type.TransactionType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FailedTransaction {   // 나중에 모아서 저장할 실패 거래 (FailedTransactionRecorder 의 큐에 쌓임)
+    private TransactionType transactionType;
+    private String accountNumber;
+    private Long amount;
+    private LocalDateTime failedAt;   // 저장 시점이 아닌 실패한 시점을 거래시간으로 기록
+}
@@ -0,0 +1,56 @@
+package com.example.account.dto;
+
+import com.example.account.aop.AccountOwnerIdInterface;
+import lombok.*;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+public class SplitAccount {
+    /**
+     * {
+     *  "userId":1,
+     *  "accountNumber":"1000000000",
+     *  "slots":8
+     * }
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class Request implements AccountOwnerIdInterface {   // 분할하는 동안 다른 잔액 변경을 막음
+        @NotNull
+        @Min(1)
+        private Long userId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String accountNumber;
+
+        @NotNull
+        @Min(2)   // 1개면 분할하지 않은 것과 같음
+        @Max(64)
+        private Integer slots;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private Long userId;
+        private String accountNumber;
+        private Integer slots;
+
+        public static Response from(AccountDto accountDto) {
+            return Response.builder()
+                    .userId(accountDto.getUserId())
+                    .accountNumber(accountDto.getAccountNumber())
+                    .slots(accountDto.getBalanceSlots())
+                    .build();
+        }
+    }
+}
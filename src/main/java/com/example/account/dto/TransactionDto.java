@@ -9,6 +9,7 @@ import lombok.*;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.ManyToOne;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Setter
@@ -16,7 +17,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class TransactionDto {  // Transaction 과 비슷
+public class TransactionDto implements Serializable {  // Transaction 과 비슷 (레디스 캐시에 저장하기 위해 직렬화)
     private String accontNumber;  // 필요한 것 추가 (acount가 아닌 이것 필요)
     private TransactionType transactionType;   // 나머지는 Transaction 에 있는 값들 사용
     private TransactionResultType transactionResultType;
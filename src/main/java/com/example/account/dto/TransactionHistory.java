@@ -0,0 +1,54 @@
+package com.example.account.dto;
+
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class TransactionHistory {
+    /**
+     * 거래 내역 조회 조건 (모두 선택, 없으면 전체)
+     * GET /account/{accountNumber}/transactions?type=USE&result=S&from=...&to=...
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Condition {
+        private TransactionType transactionType;
+        private TransactionResultType transactionResult;
+        private LocalDateTime from;   // 이 시각 이후 (포함)
+        private LocalDateTime to;   // 이 시각 이전 (미포함)
+    }
+
+    /**
+     * {
+     *  "transactions":[
+     *    {"accountNumber":"1000000000", "transactionType":"USE", "transactionResult":"S", ...}
+     *  ],
+     *  "nextCursor":"MjAyMi0wNi0..."   // 다음 페이지 요청 시 cursor 로 전달 (마지막 페이지면 null)
+     * }
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private List<QueryTransactionResponse> transactions;
+        private String nextCursor;
+
+        public static Response from(TransactionHistoryDto transactionHistoryDto) {
+            return Response.builder()
+                    .transactions(transactionHistoryDto.getTransactions().stream()
+                            .map(QueryTransactionResponse::from)
+                            .collect(Collectors.toList()))
+                    .nextCursor(transactionHistoryDto.getNextCursor())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.account.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionHistoryDto {   // 거래 내역 한 페이지 (서비스 -> 컨트롤러)
+    private List<TransactionDto> transactions;
+    private String nextCursor;   // 마지막으로 응답한 거래의 위치 (다음 페이지가 없으면 null)
+}
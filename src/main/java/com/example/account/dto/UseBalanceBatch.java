@@ -0,0 +1,69 @@
+package com.example.account.dto;
+
+import com.example.account.type.ErrorCode;
+import lombok.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+public class UseBalanceBatch {
+    /**
+     * {
+     *  "items":[
+     *    {"userId":1, "accountNumber":"1000000000", "amount":1000},
+     *    {"userId":1, "accountNumber":"1000000001", "amount":2000}
+     *  ]
+     * }
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        @NotEmpty
+        @Size(max = 1000)   // 한번에 처리할 수 있는 최대 건수
+        @Valid   // 각 건마다 UseBalance.Request 검증
+        private List<UseBalance.Request> items;
+    }
+
+    /**
+     * {
+     *  "results":[
+     *    {"response":{"accountNumber":"1000000000", "transactionResult":"S", ...}, "error":null},
+     *    {"response":null, "error":{"errorCode":"AMOUNT_EXCEED_BALANCE", "errorMessage":"..."}}
+     *  ]
+     * }
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private List<ItemResult> results;   // 요청한 순서대로 건별 결과
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ItemResult {
+        private UseBalance.Response response;   // 성공한 경우
+        private ErrorResponse error;   // 실패한 경우
+
+        public static ItemResult success(TransactionDto transactionDto) {
+            return ItemResult.builder()
+                    .response(UseBalance.Response.from(transactionDto))
+                    .build();
+        }
+
+        public static ItemResult fail(ErrorCode errorCode) {
+            return ItemResult.builder()
+                    .error(new ErrorResponse(errorCode, errorCode.getDescription()))
+                    .build();
+        }
+    }
+}
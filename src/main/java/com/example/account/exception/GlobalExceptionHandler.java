@@ -2,7 +2,10 @@ package com.example.account.exception;
 
 import com.example.account.dto.ErrorResponse;
 import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,10 +16,17 @@ import static com.example.account.type.ErrorCode.*;
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {   // 모든 Controller에서 발생했던 exception들을 여기서 처리함
+    private final MeterRegistry meterRegistry;   // 에러코드 별 응답 건수 (account.error)
+
+    public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        // 컨트롤러 슬라이스 테스트처럼 레지스트리가 없으면 기록하지 않는 빈 레지스트리 사용
+        this.meterRegistry = meterRegistry.getIfAvailable(CompositeMeterRegistry::new);
+    }
 
     @ExceptionHandler(AccountException.class)   // AccountException에 대한 핸들러
     public ErrorResponse handleAccountException(AccountException e) {  // ErrorResponse 타입으로 응답을 줌. (사용자에게 나감)
         log.error("{} is ocurred.", e.getErrorCode());
+        count(e.getErrorCode(), e);
 
         return new ErrorResponse(e.getErrorCode(), e.getErrorMessage());
     }
@@ -24,6 +34,7 @@ public class GlobalExceptionHandler {   // 모든 Controller에서 발생했던
     @ExceptionHandler(MethodArgumentNotValidException.class)   // 계좌 생성시 초기 잔액이 마이너스 금액일 때에 대한 에러처리
     public ErrorResponse handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
         log.error("MethodArgumentNotValidException is ocurred.", e);
+        count(INVALID_REQUEST, e);
 
         return new ErrorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription());
     }
@@ -31,6 +42,7 @@ public class GlobalExceptionHandler {   // 모든 Controller에서 발생했던
     @ExceptionHandler(DataIntegrityViolationException.class)   // 그 외 (자바, 스프링 DB 등 에서 )자주 발생하는 에러들에 대한 처리
     public ErrorResponse handleDataIntegrityViolationException(DataIntegrityViolationException e) {
         log.error("DataIntegrityViolationException is ocurred.", e);
+        count(INVALID_REQUEST, e);
 
         return new ErrorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription());
     }
@@ -38,9 +50,16 @@ public class GlobalExceptionHandler {   // 모든 Controller에서 발생했던
     @ExceptionHandler(Exception.class)    // 가장 최종적으로 발생하는 모든 익셉션에 대한 처리 (필수)
     public ErrorResponse handleException(Exception e) {
         log.error("Exception is ocurred.", e);
+        count(INTERNAL_SERVER_REQUEST, e);
 
         return new ErrorResponse(
                 INTERNAL_SERVER_REQUEST,
                 INTERNAL_SERVER_REQUEST.getDescription());  // 서버에서 예상치 못한 모르는 익셉션 발생
     }
+
+    private void count(ErrorCode errorCode, Exception e) {
+        meterRegistry.counter("account.error",
+                "code", errorCode.name(),
+                "exception", e.getClass().getSimpleName()).increment();
+    }
 }
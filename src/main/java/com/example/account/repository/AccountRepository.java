@@ -1,10 +1,18 @@
 package com.example.account.repository;
 
 import com.example.account.domain.Account;
-import com.example.account.domain.AccountUser;
+import com.example.account.dto.AccountInfo;
+import com.example.account.dto.AccountOwnership;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,12 +20,43 @@ import java.util.Optional;
 public interface AccountRepository extends JpaRepository<Account, Long> {   //  Account 테이블에 접속하기 위한 인터페이스  <활용 엔티티, 엔티티의 PK 타입>
     // 스프링데이터 JPA에서 제공해주는 기능들을 사용해 DB에 간단하게 접근.
 
-    Optional<Account> findFirstByOrderByIdDesc();  // ID를 내림차순 정렬해서 첫번째 값(가장 큰값)을 옵셔널 타입으로 가져옴
+    @EntityGraph(attributePaths = "accountUser")   // GET /account/{id} 는 엔티티를 그대로 응답하므로 사용자까지 로딩
+    Optional<Account> findById(Long id);
 
-    Integer countByAccountUser(AccountUser accountUser);
+    // 가장 큰 계좌번호 (계좌번호 시퀀스 초기화용, 10자리 고정이라 문자열 최대 = 숫자 최대)
+    // 구간 단위로 여러 노드가 발급하므로 id 가 가장 큰 계좌가 계좌번호도 가장 크지는 않음
+    @Query("select max(a.accountNumber) from Account a")
+    Optional<String> findMaxAccountNumber();
 
     Optional<Account> findByAccountNumber(String AccountNumber);   // Account에 있는 accountNumber 를 통해 검색을 해서 결과를 주도록 되어있음.
 
-    List<Account> findByAccountUser(AccountUser accountUser);
+    // 계좌 목록 조회용 DTO 프로젝션 (엔티티, 사용자를 로딩하지 않고 필요한 컬럼만 SELECT)
+    // 분할된 핫 계좌는 슬롯 잔액을 더해서 응답 (분할 안 한 계좌는 슬롯이 없어 + 0)
+    @Query("select new com.example.account.dto.AccountInfo(a.accountNumber, a.balance + coalesce(sum(s.balance), 0L))"
+            + " from Account a left join BalanceSlot s on s.account = a"
+            + " where a.accountUser.id = :userId"
+            + " group by a.id, a.accountNumber, a.balance order by a.id")
+    List<AccountInfo> findAccountInfosByUserId(@Param("userId") Long userId);
+
+    // 소유주, 상태 확인용 (사용자를 조인하지 않고 FK 만 읽음)
+    @Query("select new com.example.account.dto.AccountOwnership(a.id, a.accountUser.id, a.accountStatus)"
+            + " from Account a where a.accountNumber = :accountNumber")
+    Optional<AccountOwnership> findOwnershipByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)   // SELECT ... FOR UPDATE (트랜잭션이 끝날 때까지 다른 요청은 대기)
+    @Query("select a from Account a where a.accountNumber = :accountNumber")
+    Optional<Account> findByAccountNumberForUpdate(@Param("accountNumber") String accountNumber);
+
+    // 소유주, 계좌 상태, 잔액 검증과 차감을 UPDATE 한번으로 처리 (영향받은 행이 0이면 검증 실패)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance - :amount, a.version = a.version + 1,"
+            + " a.updatedAt = :now"
+            + " where a.accountNumber = :accountNumber and a.balance >= :amount"
+            + " and a.accountStatus = com.example.account.type.AccountStatus.IN_USE"
+            + " and a.accountUser.id = :userId")
+    int useBalanceIfAvailable(@Param("accountNumber") String accountNumber,
+                              @Param("userId") Long userId,
+                              @Param("amount") Long amount,
+                              @Param("now") LocalDateTime now);
 }
 
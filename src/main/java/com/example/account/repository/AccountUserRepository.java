@@ -2,8 +2,22 @@ package com.example.account.repository;
 
 import com.example.account.domain.AccountUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AccountUserRepository extends JpaRepository<AccountUser, Long> {  // <조회할 엔티티, ID의 타입>
+
+    // 최대 개수 확인과 증가를 UPDATE 한번으로 처리 (영향받은 행이 0이면 이미 max 개 -> 동시에 생성해도 넘지 않음)
+    @Modifying
+    @Query("update AccountUser u set u.accountCount = u.accountCount + 1"
+            + " where u.id = :userId and u.accountCount < :max")
+    int increaseAccountCount(@Param("userId") Long userId, @Param("max") int max);
+
+    @Modifying
+    @Query("update AccountUser u set u.accountCount = u.accountCount - 1"
+            + " where u.id = :userId and u.accountCount > 0")
+    int decreaseAccountCount(@Param("userId") Long userId);
 }
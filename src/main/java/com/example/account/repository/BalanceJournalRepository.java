@@ -0,0 +1,20 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.BalanceJournal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BalanceJournalRepository extends JpaRepository<BalanceJournal, Long>, BalanceJournalRepositoryCustom {
+    // 스냅샷 이후의 원장 (최대 스냅샷 간격만큼)
+    List<BalanceJournal> findByAccountAndSequenceGreaterThanOrderBySequence(
+            Account account, Long sequence);
+
+    // 특정 시점까지의 원장 (시점 잔액 조회)
+    List<BalanceJournal> findByAccountAndSequenceGreaterThanAndJournaledAtLessThanEqualOrderBySequence(
+            Account account, Long sequence, LocalDateTime at);
+}
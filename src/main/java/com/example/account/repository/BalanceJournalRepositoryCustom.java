@@ -0,0 +1,12 @@
+package com.example.account.repository;
+
+import com.example.account.domain.BalanceJournal;
+
+public interface BalanceJournalRepositoryCustom {
+    /**
+     * 원장 한 건 INSERT, 같은 (계좌, 순번)이 이미 있으면 넣지 않고 false
+     * 실패한 INSERT 만 세이브포인트로 되돌리므로 진행 중인 트랜잭션은 계속 사용할 수 있음
+     * (saveAndFlush 는 유니크 제약 위반 시 트랜잭션 전체를 롤백 전용으로 만듦)
+     */
+    boolean insertIfAbsent(BalanceJournal balanceJournal);
+}
@@ -0,0 +1,68 @@
+package com.example.account.repository;
+
+import com.example.account.domain.BalanceJournal;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import javax.persistence.EntityManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 원장 INSERT 를 하이버네이트 세션의 JDBC 커넥션에서 직접 실행
+ * 엔티티로 저장하지 않으므로 순번 충돌이 나도 세션, 트랜잭션 상태가 바뀌지 않음
+ */
+@RequiredArgsConstructor
+public class BalanceJournalRepositoryImpl implements BalanceJournalRepositoryCustom {
+    private static final String UNIQUE_VIOLATION = "23505";   // H2, PostgreSQL 공통 SQLState
+    private static final String INSERT_JOURNAL =
+            "insert into balance_journal(id, account_id, sequence, transaction_type, delta, balance,"
+                    + " journaled_at, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public boolean insertIfAbsent(BalanceJournal balanceJournal) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        balanceJournal.setId((Long) session.getFactory()   // 엔티티와 같은 pooled-lo 시퀀스에서 id 발급
+                .getIdentifierGenerator(BalanceJournal.class.getName())
+                .generate(session, balanceJournal));
+        LocalDateTime now = LocalDateTime.now();
+        balanceJournal.setCreatedAt(now);
+        balanceJournal.setUpdatedAt(now);
+
+        return session.doReturningWork(connection -> insert(connection, balanceJournal));
+    }
+
+    private boolean insert(Connection connection, BalanceJournal balanceJournal) throws SQLException {
+        Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_JOURNAL)) {
+            statement.setLong(1, balanceJournal.getId());
+            statement.setLong(2, balanceJournal.getAccount().getId());
+            statement.setLong(3, balanceJournal.getSequence());
+            statement.setString(4, balanceJournal.getTransactionType().name());
+            statement.setLong(5, balanceJournal.getDelta());
+            statement.setLong(6, balanceJournal.getBalance());
+            statement.setTimestamp(7, Timestamp.valueOf(balanceJournal.getJournaledAt()));
+            statement.setTimestamp(8, Timestamp.valueOf(balanceJournal.getCreatedAt()));
+            statement.setTimestamp(9, Timestamp.valueOf(balanceJournal.getUpdatedAt()));
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                throw e;
+            }
+            if (savepoint != null) {   // 실패한 INSERT 만 되돌림 (PostgreSQL 은 되돌리지 않으면 이후 쿼리가 모두 실패)
+                connection.rollback(savepoint);
+            }
+            return false;
+        }
+        if (savepoint != null) {
+            connection.releaseSavepoint(savepoint);
+        }
+        return true;
+    }
+}
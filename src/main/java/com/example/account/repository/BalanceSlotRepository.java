@@ -0,0 +1,38 @@
+package com.example.account.repository;
+
+import com.example.account.domain.BalanceSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+
+@Repository
+public interface BalanceSlotRepository extends JpaRepository<BalanceSlot, Long> {
+    // 슬롯 하나에만 더함 (같은 슬롯을 고른 요청끼리만 행 락을 기다림)
+    @Modifying(flushAutomatically = true)
+    @Query("update BalanceSlot s set s.balance = s.balance + :amount"
+            + " where s.account.id = :accountId and s.slotIndex = :slotIndex")
+    int credit(@Param("accountId") Long accountId,
+               @Param("slotIndex") Integer slotIndex,
+               @Param("amount") Long amount);
+
+    // 슬롯 잔액이 충분할 때만 차감 (영향받은 행이 0이면 다른 슬롯을 시도)
+    @Modifying(flushAutomatically = true)
+    @Query("update BalanceSlot s set s.balance = s.balance - :amount"
+            + " where s.account.id = :accountId and s.slotIndex = :slotIndex and s.balance >= :amount")
+    int debitIfAvailable(@Param("accountId") Long accountId,
+                         @Param("slotIndex") Integer slotIndex,
+                         @Param("amount") Long amount);
+
+    @Query("select coalesce(sum(s.balance), 0) from BalanceSlot s where s.account.id = :accountId")
+    long sumBalance(@Param("accountId") Long accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)   // 모으는 동안 모든 슬롯 변경을 막음 (항상 같은 순서로 잡아서 데드락 방지)
+    @Query("select s from BalanceSlot s where s.account.id = :accountId order by s.slotIndex")
+    List<BalanceSlot> findAllForUpdate(@Param("accountId") Long accountId);
+}
@@ -0,0 +1,17 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+    Optional<BalanceSnapshot> findFirstByAccountOrderBySequenceDesc(Account account);   // 가장 최근 스냅샷
+
+    Optional<BalanceSnapshot> findFirstByAccountAndSnapshotAtLessThanEqualOrderBySequenceDesc(
+            Account account, LocalDateTime at);   // 특정 시점 이전의 마지막 스냅샷
+}
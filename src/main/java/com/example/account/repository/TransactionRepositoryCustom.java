@@ -0,0 +1,34 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Transaction;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TransactionRepositoryCustom {
+    /**
+     * 계좌별 거래 내역 한 페이지 (최신순, 키셋 페이지네이션)
+     * 조건(거래 종류, 결과, 기간)은 값이 있을 때만 붙임
+     * cursorAt, cursorId 가 있으면 그 위치 다음부터 (transactedAt, id) 인덱스를 이어서 읽음
+     */
+    List<Transaction> findHistory(Long accountId,
+                                  TransactionType transactionType,
+                                  TransactionResultType transactionResult,
+                                  LocalDateTime from,
+                                  LocalDateTime to,
+                                  LocalDateTime cursorAt,
+                                  Long cursorId,
+                                  int limit);
+
+    /**
+     * 내보내기용: List 로 모으지 않고 커서(scroll)로 한 건씩 읽음 (시간순)
+     */
+    Stream<Transaction> streamHistory(Long accountId,
+                                      TransactionType transactionType,
+                                      TransactionResultType transactionResult,
+                                      LocalDateTime from,
+                                      LocalDateTime to);
+}
@@ -0,0 +1,102 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Transaction;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import lombok.RequiredArgsConstructor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+/**
+ * 거래 내역 조회 JPQL 을 조건이 있는 것만으로 만듦
+ * (:param is null or ...) 형태로 두면 DB 가 account_id 외의 조건으로 인덱스 범위를 잡지 못해서
+ * 페이지마다 계좌의 전체 거래를 읽고 정렬하게 됨
+ */
+@RequiredArgsConstructor
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Transaction> findHistory(Long accountId,
+                                         TransactionType transactionType,
+                                         TransactionResultType transactionResult,
+                                         LocalDateTime from,
+                                         LocalDateTime to,
+                                         LocalDateTime cursorAt,
+                                         Long cursorId,
+                                         int limit) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = historyCondition(accountId, transactionType, transactionResult, from, to, params);
+        if (cursorAt != null) {   // 다음 페이지: 마지막으로 응답한 (transactedAt, id) 다음부터
+            jpql.append(" and (t.transactedAt < :cursorAt"
+                    + " or (t.transactedAt = :cursorAt and t.id < :cursorId))");
+            params.put("cursorAt", cursorAt);
+            params.put("cursorId", cursorId);
+        }
+        jpql.append(" order by t.transactedAt desc, t.id desc");
+
+        return createQuery(jpql, params)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Transaction> streamHistory(Long accountId,
+                                             TransactionType transactionType,
+                                             TransactionResultType transactionResult,
+                                             LocalDateTime from,
+                                             LocalDateTime to) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = historyCondition(accountId, transactionType, transactionResult, from, to, params)
+                .append(" order by t.transactedAt, t.id");
+
+        return createQuery(jpql, params)
+                .setHint(HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .setHint(HINT_READONLY, true)   // 스냅샷을 만들지 않음
+                .getResultStream();
+    }
+
+    private StringBuilder historyCondition(Long accountId,
+                                           TransactionType transactionType,
+                                           TransactionResultType transactionResult,
+                                           LocalDateTime from,
+                                           LocalDateTime to,
+                                           Map<String, Object> params) {
+        StringBuilder jpql = new StringBuilder("select t from Transaction t where t.account.id = :accountId");
+        params.put("accountId", accountId);
+        if (transactionType != null) {
+            jpql.append(" and t.transactionType = :transactionType");
+            params.put("transactionType", transactionType);
+        }
+        if (transactionResult != null) {
+            jpql.append(" and t.transactionResultType = :transactionResult");
+            params.put("transactionResult", transactionResult);
+        }
+        if (from != null) {
+            jpql.append(" and t.transactedAt >= :from");
+            params.put("from", from);
+        }
+        if (to != null) {
+            jpql.append(" and t.transactedAt < :to");
+            params.put("to", to);
+        }
+        return jpql;
+    }
+
+    private TypedQuery<Transaction> createQuery(StringBuilder jpql, Map<String, Object> params) {
+        TypedQuery<Transaction> query = entityManager.createQuery(jpql.toString(), Transaction.class);
+        params.forEach(query::setParameter);
+        return query;
+    }
+}
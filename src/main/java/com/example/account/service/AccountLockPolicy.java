@@ -0,0 +1,34 @@
+package com.example.account.service;
+
+import com.example.account.type.ConcurrencyMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 계좌 락(LockService)을 잡아야 하는 요청인지 판단
+ * @AccountLock(LockAopAspect) 과 리액티브 경로(ReactiveTransactionService)가 같은 규칙을 쓰도록 한 곳에 둠
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountLockPolicy {
+    private final HotAccountService hotAccountService;   // 잔액이 분할된 계좌인지 확인
+    private final AccountOwnershipCache accountOwnershipCache;   // 소유주가 다르거나 해지된 계좌인지 확인
+
+    @Value("${account.transaction.concurrency-mode:REDIS_LOCK}")
+    private ConcurrencyMode concurrencyMode = ConcurrencyMode.REDIS_LOCK;
+
+    /**
+     * @param userId            요청한 사용자 (소유주 확인이 없는 요청은 null)
+     * @param skipForHotAccount 분할된 계좌면 락 없이 진행 (슬롯 행 락으로 충분한 요청)
+     */
+    public boolean requiresLock(Long userId, String accountNumber, boolean skipForHotAccount) {
+        if (concurrencyMode != ConcurrencyMode.REDIS_LOCK) {   // DB 락 모드에서는 레디스 락 없이 진행
+            return false;
+        }
+        if (userId != null && accountOwnershipCache.willReject(userId, accountNumber)) {
+            return false;   // 검증에서 실패할 요청 (잔액을 바꾸지 않음) -> 정상 요청과 락을 경쟁하지 않도록 락 없이 진행
+        }
+        return !(skipForHotAccount && hotAccountService.isHot(accountNumber));   // 분할된 계좌는 슬롯 행 락으로 충분
+    }
+}
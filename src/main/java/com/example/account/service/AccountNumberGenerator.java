@@ -0,0 +1,102 @@
+package com.example.account.service;
+
+import com.example.account.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 계좌번호 발급기
+ * 레디스 INCRBY 로 계좌번호 구간(block)을 한번에 임대해오고,
+ * 구간 안에서는 메모리의 AtomicLong 으로 발급 (DB 조회, 락 없음)
+ * 여러 노드가 있어도 구간이 겹치지 않으므로 중복 계좌번호가 나오지 않음
+ */
+@Slf4j
+@Component
+public class AccountNumberGenerator {
+    static final String SEQUENCE_KEY = "ACNO:SEQ";
+    static final long FIRST_ACCOUNT_NUMBER = 1000000000L;   // 최초 생성되는 계좌번호
+
+    private final RedissonClient redissonClient;
+    private final AccountRepository accountRepository;
+    private final long blockSize;   // 한번에 임대해오는 계좌번호 개수
+
+    private final ReentrantLock refillLock = new ReentrantLock();
+    // synchronized 안에서 레디스를 기다리면 가상 스레드가 캐리어 스레드에 고정되므로 ReentrantLock 사용
+    private volatile Block block = new Block(0L, 0L);   // 처음에는 비어있는 구간
+    private boolean synced;   // 이 노드가 레디스 시퀀스를 DB 와 맞춰봤는지 (refillLock 안에서만 사용)
+
+    public AccountNumberGenerator(
+            RedissonClient redissonClient,
+            AccountRepository accountRepository,
+            @Value("${account.number.block-size:100}") long blockSize) {
+        this.redissonClient = redissonClient;
+        this.accountRepository = accountRepository;
+        this.blockSize = blockSize;
+    }
+
+    public String nextAccountNumber() {
+        while (true) {
+            Block current = block;
+            long accountNumber = current.next.getAndIncrement();   // 구간 안이라면 CAS 한번으로 발급
+            if (accountNumber < current.end) {
+                return String.valueOf(accountNumber);
+            }
+            refill(current);   // 구간을 다 썼다면 새 구간 임대
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (block != exhausted) {   // 다른 스레드가 이미 새 구간을 받아왔음
+                return;
+            }
+
+            RAtomicLong sequence = redissonClient.getAtomicLong(SEQUENCE_KEY);
+            if (!sequence.isExists() || !synced) {   // 최초 기동, 레디스 플러시/페일오버로 시퀀스가 없어졌거나 뒤로 갔을 수 있음
+                moveAheadOfLastAccountNumber(sequence);
+                synced = true;
+            }
+
+            long end = sequence.addAndGet(blockSize) + 1;   // (end - blockSize) ~ (end - 1) 구간을 이 노드가 사용
+            block = new Block(end - blockSize, end);
+            log.debug("Leased account number block [{}, {})", end - blockSize, end);
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    /**
+     * 레디스 시퀀스가 DB 의 가장 큰 계좌번호보다 작다면 그 값으로 올림
+     * 여러 노드가 동시에 해도 compareAndSet 이라 시퀀스는 뒤로 가지 않고, 다른 노드가 이미 임대한 구간을 덮어쓰지 않음
+     */
+    private void moveAheadOfLastAccountNumber(RAtomicLong sequence) {
+        long last = getLastAccountNumber();
+        long current = sequence.get();   // 키가 없으면 0
+        while (current < last && !sequence.compareAndSet(current, last)) {
+            current = sequence.get();
+        }
+    }
+
+    private long getLastAccountNumber() {
+        return accountRepository.findMaxAccountNumber()   // 노드 기동시, 시퀀스가 없어졌을 때만 조회
+                .map(Long::parseLong)
+                .orElse(FIRST_ACCOUNT_NUMBER - 1);
+    }
+
+    private static class Block {   // 임대한 계좌번호 구간 [next, end)
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
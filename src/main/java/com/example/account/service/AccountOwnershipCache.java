@@ -0,0 +1,126 @@
+package com.example.account.service;
+
+import com.example.account.dto.AccountOwnership;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.ErrorCode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * 계좌번호 -> (계좌 id, 소유주 id, 상태) 니어 캐시
+ * 소유주는 바뀌지 않고 상태는 해지(UNREGISTERED)로만 바뀌므로,
+ * 캐시가 "소유주가 다름" 또는 "해지됨" 이라고 하면 DB 를 보지 않아도 그 요청은 실패함
+ * (반대로 해지 직후 캐시가 아직 IN_USE 라면 원래 검증에서 걸러짐 -> 캐시가 틀려도 잘못 통과시키지 않음)
+ * 해지가 커밋되면 레디스 토픽으로 모든 서버의 항목을 지움
+ */
+@Slf4j
+@Service
+public class AccountOwnershipCache {
+    private static final String INVALIDATION_TOPIC = "ACOWN:invalidate";
+
+    private final AccountRepository accountRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final RedissonClient redissonClient;
+    private final Cache<String, AccountOwnership> ownerships;   // 없는 계좌는 담지 않음 (나중에 생길 수 있음)
+    private RTopic invalidationTopic;
+    private int listenerId;
+
+    public AccountOwnershipCache(
+            AccountRepository accountRepository,
+            AccountUserRepository accountUserRepository,
+            RedissonClient redissonClient,
+            @Value("${account.account-ownership-cache.max-size:100000}") long maxSize,
+            @Value("${account.account-ownership-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.accountRepository = accountRepository;
+        this.accountUserRepository = accountUserRepository;
+        this.redissonClient = redissonClient;
+        this.ownerships = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))   // 레디스 연결이 끊겨 무효화를 놓친 경우 대비
+                .build();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        invalidationTopic = redissonClient.getTopic(INVALIDATION_TOPIC, StringCodec.INSTANCE);
+        listenerId = invalidationTopic.addListener(String.class,
+                (channel, accountNumber) -> ownerships.invalidate(accountNumber));
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        invalidationTopic.removeListener(listenerId);
+    }
+
+    /**
+     * 락을 잡기 전에 확인: 캐시로 보아 검증에서 실패할 요청인지 (DB 를 보는 건 캐시에 없을 때 한번뿐)
+     */
+    public boolean willReject(Long userId, String accountNumber) {
+        AccountOwnership ownership = get(accountNumber);
+        return ownership != null && (!Objects.equals(ownership.getOwnerId(), userId)
+                || ownership.getAccountStatus() == AccountStatus.UNREGISTERED);
+    }
+
+    /**
+     * 서비스 검증 전에 확인: 실패할 요청이면 원래 검증과 같은 에러코드로 바로 실패
+     * (사용자 확인 -> 계좌 확인 -> 소유주 확인 -> 해지 확인 순서를 그대로 따름)
+     */
+    public void validate(Long userId, String accountNumber) {
+        AccountOwnership ownership = get(accountNumber);
+        if (ownership == null) {   // 캐시로 판단할 수 없음 -> 원래 검증
+            return;
+        }
+        if (!Objects.equals(ownership.getOwnerId(), userId)) {
+            throw new AccountException(accountUserRepository.existsById(userId)
+                    ? ErrorCode.USER_ACCOUNT_UN_MATCH
+                    : ErrorCode.USER_NOT_FOUND);
+        }
+        if (ownership.getAccountStatus() == AccountStatus.UNREGISTERED) {   // 소유주가 맞으면 사용자도 있음
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+    }
+
+    public void invalidateAfterCommit(String accountNumber) {   // 계좌 해지
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(accountNumber);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(accountNumber);
+            }
+        });
+    }
+
+    private void invalidate(String accountNumber) {
+        ownerships.invalidate(accountNumber);
+        try {
+            invalidationTopic.publish(accountNumber);   // 다른 서버 (자기 자신도 받지만 이미 지운 상태)
+        } catch (Exception e) {
+            log.warn("Failed to publish account ownership invalidation. {}", accountNumber, e);
+        }
+    }
+
+    private AccountOwnership get(String accountNumber) {
+        return ownerships.get(accountNumber, key -> accountRepository.findOwnershipByAccountNumber(key)
+                .orElse(null));
+    }
+}
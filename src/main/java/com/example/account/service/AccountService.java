@@ -2,13 +2,18 @@ package com.example.account.service;
 
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import com.example.account.dto.AccountBalance;
 import com.example.account.dto.AccountDto;
+import com.example.account.dto.AccountInfo;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.type.AccountStatus;
+import com.example.account.type.BalanceMode;
 import com.example.account.type.ErrorCode;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
@@ -16,7 +21,6 @@ import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import static com.example.account.type.AccountStatus.IN_USE;
 import static com.example.account.type.ErrorCode.*;
@@ -24,24 +28,34 @@ import static com.example.account.type.ErrorCode.*;
 @Service  // 서비스타입 빈으로 스프링에 자동으로 등록
 @RequiredArgsConstructor  // 꼭 필요한 args가 들어간 생성자를 만듦
 public class AccountService {   // 계좌 서비스
+    static final int MAX_ACCOUNTS_PER_USER = 10;
+
     private final AccountRepository accountRepository;  // 해당 빈을 다른 빈에 넣을 수 있게 final로
     private final AccountUserRepository  accountUserRepository;  // 테이블 인젝션 (사용자 조회)
+    private final AccountNumberGenerator accountNumberGenerator;  // 계좌번호 발급 (DB 조회 없이 메모리에서 발급)
+    private final LedgerService ledgerService;  // LEDGER 모드에서 잔액 조회
+    private final HotAccountService hotAccountService;  // 핫 계좌 잔액 분할
+    private final AccountSummaryCache accountSummaryCache;  // 사용자별 계좌 목록 캐시
+    private final AccountOwnershipCache accountOwnershipCache;  // 소유주, 해지 여부 사전 확인
+
+    @Value("${account.balance.mode:COLUMN}")
+    private BalanceMode balanceMode = BalanceMode.COLUMN;
 
     /** 계좌 생성
      * 사용자가 있는지 조회
      * 계좌의 번호를 생성하고
      * 계좌를 저장하고, 그 정보를 넘긴다.
      */
+    @Timed(value = "account.service", histogram = true)
     @Transactional
     public AccountDto createAccount(Long userId, Long initialBalance) {   // 계좌 생성
         AccountUser accountUser = getAccountUser(userId);
 
         validateCreateAccount(accountUser);  // 예외처리 메소드
 
-        String newAccountNumber = accountRepository.findFirstByOrderByIdDesc()  // 제일 마지막에 생성된 계좌를 가져옴
-                .map(account -> (Integer.parseInt(account.getAccountNumber())) + 1 + "")
-                    // 존재한다면 AccountNumber를 받아서 이것보다 하나 더 큰 숫자 넣어줌 (문자->숫자->문자 변환)
-                .orElse("1000000000");  // 없으면은(최초 생성) 이 계좌번호 부여
+        String newAccountNumber = accountNumberGenerator.nextAccountNumber();
+            // 레디스에서 임대한 구간 안에서 발급하므로 동시에 생성해도 중복되지 않음 (최초 생성은 1000000000)
+        accountSummaryCache.evictAfterCommit(accountUser.getId());
 
         return AccountDto.fromEntity(   // 새 accountRepository를 만들어서 AccountDto로 변환후 컨트롤러로 넘김
                 accountRepository.save(Account.builder()   // 여기서 생성한 어카운트 엔티티를 accountRepository을 통해 저장.
@@ -55,7 +69,8 @@ public class AccountService {   // 계좌 서비스
     }
 
     private void validateCreateAccount(AccountUser accountUser) {
-        if (accountRepository.countByAccountUser(accountUser) >= 10) {  // 이 사람이 소유하고있는 계좌의 개수가 이미 10개 (이상)이면,
+        if (accountUserRepository.increaseAccountCount(accountUser.getId(), MAX_ACCOUNTS_PER_USER) == 0) {
+            // 보유 계좌 수가 이미 10개 (이상)이면, (계좌 테이블을 세지 않고 사용자 행의 accountCount 로 확인 + 증가)
             throw new AccountException(ErrorCode.MAX_ACCOUNT_PER_USER_10);  // 이 예외를 발생시킴
         }
     }
@@ -69,8 +84,10 @@ public class AccountService {   // 계좌 서비스
         return accountRepository.findById(id).get();   // findById로 id의 데이터를 SELECT해서 가져옴.
     }
 
+    @Timed(value = "account.service", histogram = true)
     @Transactional
     public AccountDto deleteAccount(Long userId, String accountNumber) {
+        accountOwnershipCache.validate(userId, accountNumber);   // 소유주가 다르거나 이미 해지된 계좌면 엔티티 조회 없이 실패
         AccountUser accountUser = getAccountUser(userId);
         Account account = accountRepository.findByAccountNumber(accountNumber)  // Account 찾기
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));   // accountNumber로 findByAccountNumber 해서 없으면 ACCOUNT_NOT_FOUND 던짐, 있으면 account 에 저장
@@ -81,6 +98,9 @@ public class AccountService {   // 계좌 서비스
         account.setUnRegisteredAt(LocalDateTime.now());   // 해지한 시간을 현재 시간으로 업데이트
 
         accountRepository.save(account);   // (불필요한 코드지만) account를 일부로 호출 해서 이 account에 UNREGISTERED 상태값이 들어왔는지 확인하기
+        accountUserRepository.decreaseAccountCount(accountUser.getId());   // 해지한 계좌는 보유 계좌 수에서 뺌
+        accountSummaryCache.evictAfterCommit(accountUser.getId());
+        accountOwnershipCache.invalidateAfterCommit(accountNumber);   // 모든 서버의 캐시에서 해지 상태가 보이도록
 
         return AccountDto.fromEntity(account);   // AccountDto 를 account 로부터 만들어서 응답을 줌.
     }
@@ -93,21 +113,92 @@ public class AccountService {   // 계좌 서비스
             throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);  // 해당 에러코드 던짐
 
         }
-        if (account.getBalance() > 0) {     // 계좌 잔액이 있는 경우
+        if (balanceOf(account) > 0) {     // 계좌 잔액이 있는 경우
             throw new AccountException(BALANCE_NOT_EMPTY);  // 해당 에러코드 던짐
         }
     }
 
+    @Timed(value = "account.service", histogram = true)
+    @Transactional
+    public List<AccountInfo> getAccountInfosByUserId(Long userId) {   // 계좌 목록 조회 (GET /account?user_id=)
+        return accountSummaryCache.get(userId, this::loadAccountInfos);   // 캐시에 있으면 DB 조회 없이 응답
+    }
+
+    private List<AccountInfo> loadAccountInfos(Long userId) {
+        if (!accountUserRepository.existsById(userId)) {
+            throw new AccountException(USER_NOT_FOUND);
+        }
+
+        List<AccountInfo> accountInfos =
+                accountRepository.findAccountInfosByUserId(userId);   // 쿼리 한번으로 계좌번호, 잔액만 조회
+        if (balanceMode == BalanceMode.LEDGER) {   // 컬럼은 개설 잔액이므로 원장 잔액으로 바꿔서 응답
+            accountInfos.forEach(accountInfo -> accountInfo.setBalance(
+                    balanceOf(getAccountByNumber(accountInfo.getAccountNumber()))));
+        }
+        return accountInfos;
+    }
+
+    /**
+     * 계좌 잔액 조회
+     * at 이 있으면 그 시점의 잔액 (LEDGER 모드만 가능, 스냅샷 + 원장으로 계산)
+     */
+    @Timed(value = "account.service", histogram = true)
     @Transactional
-    public List<AccountDto> getAccountsByUserId(Long userId) {   // userId에 해당하는 유저들 조회
+    public AccountBalance getBalance(String accountNumber, LocalDateTime at) {
+        Account account = getAccountByNumber(accountNumber);
+        if (at != null && balanceMode != BalanceMode.LEDGER) {   // 컬럼 모드는 과거 잔액을 알 수 없음
+            throw new AccountException(INVALID_REQUEST);
+        }
+
+        return AccountBalance.builder()
+                .accountNumber(accountNumber)
+                .balance(at == null ? balanceOf(account) : ledgerService.balanceAt(account, at))
+                .at(at == null ? LocalDateTime.now() : at)
+                .build();
+    }
+
+    /**
+     * 요청이 몰리는 계좌의 잔액을 slots 개로 분할 (COLUMN 모드만 가능, 되돌리지 않음)
+     * 이후 취소는 계좌 락 없이 슬롯 하나에만 더하고, 사용은 슬롯 단위로 차감
+     */
+    @Timed(value = "account.service", histogram = true)
+    @Transactional
+    public AccountDto splitAccountBalance(Long userId, String accountNumber, int slots) {
+        accountOwnershipCache.validate(userId, accountNumber);
         AccountUser accountUser = getAccountUser(userId);
+        Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)   // 옮기는 동안 잔액이 바뀌지 않도록
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+
+        validateSplitAccount(accountUser, account);
 
-        List<Account> accounts = accountRepository   // List로 사용자의 Account가 나옴
-                .findByAccountUser(accountUser);
+        hotAccountService.split(account, slots);
+        return AccountDto.fromEntity(account);
+    }
+
+    private void validateSplitAccount(AccountUser accountUser, Account account) {
+        if (!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
+            throw new AccountException(USER_ACCOUNT_UN_MATCH);
+        }
+        if (account.getAccountStatus() == AccountStatus.UNREGISTERED) {
+            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        if (balanceMode == BalanceMode.LEDGER || hotAccountService.isHot(account)) {   // LEDGER 는 account 행 경합이 없음, 이미 분할됨
+            throw new AccountException(INVALID_REQUEST);
+        }
+    }
+
+    private long balanceOf(Account account) {
+        if (balanceMode == BalanceMode.LEDGER) {
+            return ledgerService.currentBalance(account);
+        }
+        return hotAccountService.isHot(account)
+                ? hotAccountService.balanceOf(account)
+                : account.getBalance();
+    }
 
-        return accounts.stream()   // List<Account> -> List<AccountDto> 형변환
-                .map(AccountDto::fromEntity)   // 변환 완료
-                .collect(Collectors.toList());  // 리스트로 받아줌
+    private Account getAccountByNumber(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
     }
 
     private AccountUser getAccountUser(Long userId) {    // 중복되는 코드 정리한 메소드 (리팩토링)
@@ -0,0 +1,91 @@
+package com.example.account.service;
+
+import com.example.account.dto.AccountInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 사용자별 계좌 목록(계좌번호, 잔액) 캐시 (GET /account?user_id=)
+ * - 잔액이 바뀐 거래, 계좌 생성/해지가 커밋되면 레디스 토픽으로 모든 서버에서 그 사용자 항목을 지움
+ * - 지우는 도중에 읽고 있던 (커밋 전 잔액을 읽은) 항목도 같이 지워짐 (같은 키의 로딩이 끝날 때까지 기다렸다가 지움)
+ * - ttl 은 레디스 연결이 끊겨 무효화를 놓친 경우 대비
+ */
+@Slf4j
+@Component
+public class AccountSummaryCache {
+    private static final String INVALIDATION_TOPIC = "ACSUM:invalidate";
+
+    private final RedissonClient redissonClient;
+    private final Cache<Long, List<AccountInfo>> summaries;   // 사용자 id -> 계좌 목록
+    private RTopic invalidationTopic;
+    private int listenerId;
+
+    public AccountSummaryCache(
+            RedissonClient redissonClient,
+            @Value("${account.account-summary-cache.max-size:100000}") long maxSize,
+            @Value("${account.account-summary-cache.ttl-seconds:5}") long ttlSeconds) {
+        this.redissonClient = redissonClient;
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        invalidationTopic = redissonClient.getTopic(INVALIDATION_TOPIC, StringCodec.INSTANCE);
+        listenerId = invalidationTopic.addListener(String.class,
+                (channel, userId) -> summaries.invalidate(Long.valueOf(userId)));
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        invalidationTopic.removeListener(listenerId);
+    }
+
+    public List<AccountInfo> get(Long userId, Function<Long, List<AccountInfo>> loader) {
+        return summaries.get(userId, key -> Collections.unmodifiableList(loader.apply(key)));
+    }
+
+    public void evictAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {   // 커밋 전에 지우면 그 사이 조회가 이전 잔액을 다시 채울 수 있음
+                evict(userId);
+            }
+        });
+    }
+
+    private void evict(Long userId) {
+        summaries.invalidate(userId);
+        try {
+            invalidationTopic.publish(String.valueOf(userId));   // 다른 서버 (자기 자신도 받지만 이미 지운 상태)
+        } catch (Exception e) {
+            log.warn("Failed to publish account summary invalidation. {}", userId, e);
+        }
+    }
+
+    void invalidateAll() {   // 테스트 간 캐시를 공유하지 않도록
+        summaries.invalidateAll();
+    }
+}
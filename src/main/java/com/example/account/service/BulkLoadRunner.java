@@ -0,0 +1,35 @@
+package com.example.account.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * account.bulk-load.enabled=true 로 기동하면 대량 데이터를 적재하고 종료
+ * (./gradlew bulkLoad -PbulkUsers=1000000)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.bulk-load.enabled", havingValue = "true")
+public class BulkLoadRunner implements ApplicationRunner {
+    private final BulkLoader bulkLoader;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${account.bulk-load.users:100000}")
+    private int users;
+    @Value("${account.bulk-load.accounts-per-user:5}")
+    private int accountsPerUser;
+    @Value("${account.bulk-load.transactions-per-account:20}")
+    private int transactionsPerAccount;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        bulkLoader.load(users, accountsPerUser, transactionsPerAccount);
+        System.exit(SpringApplication.exit(applicationContext));   // 레디스, 스레드 풀을 정리하고 종료
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.account.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+
+/**
+ * 성능 측정용 대량 데이터 적재 (perf 프로필, ./gradlew bulkLoad)
+ * 엔티티를 거치지 않고 JDBC 배치 INSERT 로 사용자 -> 계좌 -> 거래 순서로 넣음
+ * - 사용자 chunk-size 명 단위로 한 트랜잭션 (실패해도 앞서 넣은 chunk 는 남음)
+ * - id 는 테이블의 마지막 id 다음부터 직접 매기고, 끝나면 시퀀스를 그 뒤로 옮김
+ *   (적재 중에 애플리케이션이 같은 DB 에 쓰면 id 가 겹치므로 단독으로 실행)
+ * - 계좌번호, 거래 id 는 애플리케이션과 같은 발급기로 만들어서 이후 발급과 겹치지 않음
+ */
+@Slf4j
+@Service
+public class BulkLoader {
+    static final long INITIAL_BALANCE = 1000000L;   // 계좌 개설 잔액
+    private static final long MAX_AMOUNT = 1000L;   // 거래 금액 1 ~ 1000 (거래 수가 많아도 잔액이 음수가 되지 않도록 작게)
+    private static final int HISTORY_DAYS = 365;   // 거래 시각을 최근 1년에 나눠서 기록
+
+    private static final String INSERT_ACCOUNT_USER =
+            "insert into account_user(id, name, account_count, created_at, updated_at) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_ACCOUNT =
+            "insert into account(id, account_user_id, account_number, account_status, balance,"
+                    + " registered_at, version, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TRANSACTION =
+            "insert into transaction(id, transaction_type, transaction_result_type, account_id, amount,"
+                    + " balance_snapshot, transaction_id, transacted_at, created_at, updated_at)"
+                    + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final int chunkSize;   // 한 트랜잭션에 넣을 사용자 수
+    private final int batchSize;   // JDBC 배치 한번에 보낼 행 수
+
+    public BulkLoader(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            AccountNumberGenerator accountNumberGenerator,
+            TransactionIdGenerator transactionIdGenerator,
+            @Value("${account.bulk-load.chunk-size:1000}") int chunkSize,
+            @Value("${account.bulk-load.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.accountNumberGenerator = accountNumberGenerator;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+    }
+
+    public void load(int users, int accountsPerUser, int transactionsPerAccount) {
+        if (accountsPerUser > AccountService.MAX_ACCOUNTS_PER_USER) {   // 적재한 사용자도 계좌 생성 제한을 지키도록
+            throw new IllegalArgumentException(
+                    "account.bulk-load.accounts-per-user must be <= " + AccountService.MAX_ACCOUNTS_PER_USER);
+        }
+        long userId = nextId("account_user");
+        long accountId = nextId("account");
+        long transactionId = nextId("transaction");
+        long startedAt = System.currentTimeMillis();
+
+        for (int loaded = 0; loaded < users; loaded += chunkSize) {
+            int chunk = Math.min(chunkSize, users - loaded);
+            Chunk rows = buildChunk(userId, accountId, transactionId, chunk, accountsPerUser, transactionsPerAccount);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                insert(INSERT_ACCOUNT_USER, rows.users);
+                insert(INSERT_ACCOUNT, rows.accounts);
+                insert(INSERT_TRANSACTION, rows.transactions);
+            });
+
+            userId += rows.users.size();
+            accountId += rows.accounts.size();
+            transactionId += rows.transactions.size();
+            log.info("Bulk loaded {} / {} users", loaded + chunk, users);
+        }
+
+        restartSequence("account_user", userId);
+        restartSequence("account", accountId);
+        restartSequence("transaction", transactionId);
+        log.info("Bulk load finished. users : {}, accounts : {}, transactions : {}, elapsed : {}ms",
+                users, (long) users * accountsPerUser, (long) users * accountsPerUser * transactionsPerAccount,
+                System.currentTimeMillis() - startedAt);
+    }
+
+    private Chunk buildChunk(long userId, long accountId, long transactionId,
+                             int users, int accountsPerUser, int transactionsPerAccount) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        LocalDateTime historyStart = LocalDateTime.now().minusDays(HISTORY_DAYS);
+        long historySeconds = HISTORY_DAYS * 24L * 60 * 60;
+        Chunk chunk = new Chunk();
+
+        for (int u = 0; u < users; u++, userId++) {
+            chunk.users.add(new Object[]{userId, "user" + userId, accountsPerUser, now, now});
+
+            for (int a = 0; a < accountsPerUser; a++, accountId++) {
+                long balance = INITIAL_BALANCE;
+                LocalDateTime transactedAt = historyStart;
+                for (int t = 0; t < transactionsPerAccount; t++, transactionId++) {   // 시간순으로 잔액이 줄어드는 사용 거래
+                    long amount = random.nextLong(1, MAX_AMOUNT + 1);
+                    balance -= amount;
+                    transactedAt = transactedAt.plusSeconds(
+                            random.nextLong(1, historySeconds / Math.max(transactionsPerAccount, 1) + 1));
+                    chunk.transactions.add(new Object[]{transactionId, USE.name(), S.name(), accountId, amount,
+                            balance, transactionIdGenerator.nextId(), Timestamp.valueOf(transactedAt), now, now});
+                }
+                chunk.accounts.add(new Object[]{accountId, userId, accountNumberGenerator.nextAccountNumber(),
+                        IN_USE.name(), balance, Timestamp.valueOf(historyStart), 0L, now, now});   // 잔액은 마지막 거래 후 잔액
+            }
+        }
+        return chunk;
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    private long nextId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        return maxId == null ? 1L : maxId + 1;
+    }
+
+    private void restartSequence(String table, long nextId) {   // 애플리케이션이 적재한 id 뒤부터 발급하도록
+        jdbcTemplate.execute("alter sequence " + table + "_seq restart with " + nextId);
+    }
+
+    private static class Chunk {   // 한 트랜잭션에 넣을 행들
+        private final List<Object[]> users = new ArrayList<>();
+        private final List<Object[]> accounts = new ArrayList<>();
+        private final List<Object[]> transactions = new ArrayList<>();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.account.service;
+
+import com.example.account.dto.FailedTransaction;
+import com.example.account.type.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실패 거래 비동기 기록 (write-behind)
+ * 요청 스레드는 큐에 넣기만 하고 바로 계좌 락을 풀고,
+ * 백그라운드 스레드가 큐에 쌓인 실패 거래를 모아서 한 트랜잭션으로 저장
+ */
+@Slf4j
+@Component
+public class FailedTransactionRecorder {
+    private final TransactionService transactionService;
+    private final BlockingQueue<FailedTransaction> queue;
+    private final int batchSize;   // 한번에 저장할 최대 건수
+    private final long pollMillis;   // 큐가 비어있을 때 기다리는 시간
+
+    private final Counter enqueuedCounter;
+    private final Counter rejectedCounter;   // 큐가 가득 차서 요청 스레드에서 직접 저장한 건수 (백프레셔)
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;   // 저장 중 에러로 버려진 건수
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public FailedTransactionRecorder(
+            TransactionService transactionService,
+            MeterRegistry meterRegistry,
+            @Value("${account.failed-transaction.queue-capacity:10000}") int queueCapacity,
+            @Value("${account.failed-transaction.batch-size:100}") int batchSize,
+            @Value("${account.failed-transaction.poll-ms:200}") long pollMillis) {
+        this.transactionService = transactionService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.pollMillis = pollMillis;
+
+        this.enqueuedCounter = meterRegistry.counter("failed.transaction.enqueued");
+        this.rejectedCounter = meterRegistry.counter("failed.transaction.rejected");
+        this.writtenCounter = meterRegistry.counter("failed.transaction.written");
+        this.droppedCounter = meterRegistry.counter("failed.transaction.dropped");
+        meterRegistry.gaugeCollectionSize("failed.transaction.queue.size",
+                Tags.empty(), queue);   // 큐에 쌓여있는 건수
+    }
+
+    public void record(TransactionType transactionType, String accountNumber, Long amount) {
+        FailedTransaction failedTransaction = FailedTransaction.builder()
+                .transactionType(transactionType)
+                .accountNumber(accountNumber)
+                .amount(amount)
+                .failedAt(LocalDateTime.now())
+                .build();
+
+        if (queue.offer(failedTransaction)) {   // 큐에 넣고 바로 리턴
+            enqueuedCounter.increment();
+            return;
+        }
+
+        rejectedCounter.increment();   // 큐가 가득 찼다면 기록을 잃지 않도록 직접 저장
+        log.warn("Failed transaction queue is full. Recording synchronously. {}", accountNumber);
+        flush(List.of(failedTransaction));
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "failed-transaction-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {   // 종료 시 큐에 남아있는 실패 거래를 모두 저장
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        List<FailedTransaction> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    private void drainLoop() {
+        List<FailedTransaction> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                FailedTransaction first = queue.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);   // 쌓여있는 만큼 한번에 가져옴
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<FailedTransaction> batch) {
+        try {
+            transactionService.saveFailedTransactions(new ArrayList<>(batch));
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {   // 저장에 실패해도 writer 스레드는 계속 동작
+            droppedCounter.increment(batch.size());
+            log.error("Failed to record {} failed transactions.", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.BalanceSlot;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.BalanceSlotRepository;
+import com.example.account.type.ErrorCode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 핫 계좌 잔액 분할 (COLUMN 모드)
+ * - 요청이 몰리는 계좌의 잔액을 N개의 슬롯(balance_slot)으로 나눠서 account 행 하나에 쓰기가 몰리지 않도록 함
+ * - 취소(입금)는 계좌 락 없이 임의의 슬롯 하나에 더함
+ * - 사용(출금)은 잔액이 충분한 슬롯에서 차감하고, 그런 슬롯이 없으면 모든 슬롯을 잠그고 한 슬롯으로 모아서 차감
+ * - 잔액은 account.balance(분할 후 0) + 슬롯 합
+ */
+@Slf4j
+@Service
+public class HotAccountService {
+    private final BalanceSlotRepository balanceSlotRepository;
+    private final AccountRepository accountRepository;
+    private final EntityManager entityManager;
+    private final Cache<String, Boolean> hotAccounts;   // 계좌번호 -> 분할 여부 (락 AOP 에서 매번 DB 를 보지 않도록)
+
+    public HotAccountService(
+            BalanceSlotRepository balanceSlotRepository,
+            AccountRepository accountRepository,
+            EntityManager entityManager,
+            @Value("${account.hot-account.cache-ttl-seconds:10}") long cacheTtlSeconds) {
+        this.balanceSlotRepository = balanceSlotRepository;
+        this.accountRepository = accountRepository;
+        this.entityManager = entityManager;
+        this.hotAccounts = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))   // 다른 서버에서 분할한 계좌는 이 시간 안에 반영
+                .build();
+    }
+
+    public boolean isHot(Account account) {
+        return account.getBalanceSlots() != null && account.getBalanceSlots() > 1;
+    }
+
+    public boolean isHot(String accountNumber) {   // 계좌를 읽기 전에 판단해야 할 때 (락 AOP, PESSIMISTIC 조회)
+        return hotAccounts.get(accountNumber, key -> accountRepository.findByAccountNumber(key)
+                .map(this::isHot)
+                .orElse(false));
+    }
+
+    /**
+     * 계좌 잔액을 slots 개로 분할 (호출하는 쪽에서 계좌 행을 잠근 상태)
+     * 기존 잔액은 0번 슬롯으로 옮기고 account.balance 는 0 으로 둠
+     */
+    public void split(Account account, int slots) {
+        List<BalanceSlot> balanceSlots = new ArrayList<>();
+        for (int i = 0; i < slots; i++) {
+            balanceSlots.add(BalanceSlot.builder()
+                    .account(account)
+                    .slotIndex(i)
+                    .balance(i == 0 ? account.getBalance() : 0L)
+                    .build());
+        }
+        balanceSlotRepository.saveAll(balanceSlots);
+
+        account.setBalance(0L);
+        account.setBalanceSlots(slots);
+        markHotAfterCommit(account.getAccountNumber());
+        log.info("Account balance split. {} slots : {}", account.getAccountNumber(), slots);
+    }
+
+    public void credit(Account account, long amount) {
+        int slotIndex = ThreadLocalRandom.current().nextInt(account.getBalanceSlots());
+        if (balanceSlotRepository.credit(account.getId(), slotIndex, amount) != 1) {
+            throw new IllegalStateException("Balance slot not found : "
+                    + account.getAccountNumber() + "#" + slotIndex);
+        }
+    }
+
+    public void debit(Account account, long amount) {
+        int slots = account.getBalanceSlots();
+        int start = ThreadLocalRandom.current().nextInt(slots);   // 요청마다 다른 슬롯부터 시도해서 경합을 나눔
+        for (int i = 0; i < slots; i++) {
+            if (balanceSlotRepository.debitIfAvailable(account.getId(), (start + i) % slots, amount) == 1) {
+                return;
+            }
+        }
+        consolidate(account, start, amount);
+    }
+
+    public long balanceOf(Account account) {
+        return account.getBalance() + balanceSlotRepository.sumBalance(account.getId());
+    }
+
+    /**
+     * 어느 슬롯도 혼자서는 부족할 때: 모든 슬롯을 잠그고 합계를 target 슬롯으로 모은 뒤 차감
+     */
+    private void consolidate(Account account, int target, long amount) {
+        List<BalanceSlot> balanceSlots = balanceSlotRepository.findAllForUpdate(account.getId());
+        long total = balanceSlots.stream().mapToLong(BalanceSlot::getBalance).sum();
+        if (total < amount) {
+            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);  // 거래금액이 잔액보다 큼
+        }
+
+        for (BalanceSlot balanceSlot : balanceSlots) {
+            balanceSlot.setBalance(balanceSlot.getSlotIndex() == target ? total - amount : 0L);
+        }
+        entityManager.flush();
+        balanceSlots.forEach(entityManager::detach);   // 이후 UPDATE 쿼리로 바뀐 값을 오래된 엔티티로 읽지 않도록
+    }
+
+    private void markHotAfterCommit(String accountNumber) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            hotAccounts.put(accountNumber, true);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                hotAccounts.put(accountNumber, true);
+            }
+        });
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.account.service;
+
+import com.example.account.aop.Idempotent;
+import com.example.account.exception.AccountException;
+import com.example.account.service.IdempotencyService.IdempotencyRecord;
+import com.example.account.type.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+
+@Aspect
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)   // 허용 응답시간 측정 안쪽, 계좌 락 바깥 -> 중복 요청은 락을 잡지 않음
+public class IdempotencyAspect {
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    private final long waitMillis;   // 처리 중인 같은 요청을 기다리는 최대 시간
+
+    public IdempotencyAspect(
+            IdempotencyService idempotencyService,
+            ObjectMapper objectMapper,
+            @Value("${account.idempotency.wait-ms:15000}") long waitMillis) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+        this.waitMillis = waitMillis;
+    }
+
+    @Around("@annotation(idempotent)")
+    public Object aroundMethod(ProceedingJoinPoint pjp, Idempotent idempotent) throws Throwable {
+        String idempotencyKey = currentIdempotencyKey();
+        if (idempotencyKey == null) {   // 헤더가 없으면 기존처럼 매번 처리
+            return pjp.proceed();
+        }
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        String key = pjp.getSignature().getName() + ":" + idempotencyKey;
+        String fingerprint = DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(pjp.getArgs()));
+        while (true) {
+            IdempotencyRecord claim = IdempotencyRecord.processing(fingerprint);
+            IdempotencyRecord record = idempotencyService.begin(key, claim);
+            if (record == null) {   // 처음 온 요청 -> 직접 처리
+                return proceed(pjp, key, claim);
+            }
+            if (!Objects.equals(fingerprint, record.getFingerprint())) {   // 같은 키로 다른 내용을 요청
+                throw new AccountException(ErrorCode.INVALID_REQUEST);
+            }
+            if (record.isProcessing()) {
+                record = idempotencyService.await(key, waitMillis);
+                if (record == null) {   // 처음 요청이 다시 처리해도 되는 실패로 끝남 -> 선점부터 다시
+                    continue;
+                }
+                if (record.isProcessing()) {
+                    throw new AccountException(ErrorCode.IDEMPOTENT_REQUEST_IN_PROGRESS);
+                }
+            }
+            log.debug("Idempotent replay. {}", key);
+            return replay(pjp, record);
+        }
+    }
+
+    private Object proceed(ProceedingJoinPoint pjp, String key, IdempotencyRecord claim) throws Throwable {
+        String fingerprint = claim.getFingerprint();
+        ScheduledFuture<?> keepAlive = idempotencyService.keepAlive(key, claim);   // 처리가 끝날 때까지 선점 유지
+        Object result;
+        try {
+            result = pjp.proceed();
+        } catch (AccountException e) {
+            keepAlive.cancel(false);
+            if (e.getErrorCode() == ErrorCode.ACCOUNT_TRANSACTION_LOCK) {   // 잔액을 건드리지 않은 일시적 실패
+                idempotencyService.release(key, claim);
+            } else {
+                complete(key, claim, IdempotencyRecord.failure(fingerprint, e.getErrorCode().name()));
+            }
+            throw e;
+        } catch (Throwable t) {
+            keepAlive.cancel(false);
+            idempotencyService.release(key, claim);
+            throw t;
+        }
+
+        keepAlive.cancel(false);
+        complete(key, claim, IdempotencyRecord.success(fingerprint, objectMapper.writeValueAsString(result)));
+        return result;
+    }
+
+    private void complete(String key, IdempotencyRecord claim, IdempotencyRecord record) {
+        if (!idempotencyService.complete(key, claim, record)) {   // 선점이 만료되어 다른 요청이 처리함 -> 그 결과를 유지
+            log.warn("Idempotency claim expired before completion. {}", key);
+        }
+    }
+
+    private Object replay(ProceedingJoinPoint pjp, IdempotencyRecord record) throws Exception {
+        if (record.getErrorCode() != null) {   // 처음과 같은 에러 응답
+            throw new AccountException(ErrorCode.valueOf(record.getErrorCode()));
+        }
+        Class<?> returnType = ((MethodSignature) pjp.getSignature()).getReturnType();
+        return objectMapper.readValue(record.getResponse(), returnType);
+    }
+
+    private String currentIdempotencyKey() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!(requestAttributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        return ((ServletRequestAttributes) requestAttributes).getRequest().getHeader(HEADER);
+    }
+}
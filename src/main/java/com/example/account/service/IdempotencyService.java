@@ -0,0 +1,195 @@
+package com.example.account.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 멱등키 별 처리 상태, 응답을 레디스에 저장 (IDEM:<엔드포인트>:<멱등키>)
+ * - 처음 요청이 PROCESSING 으로 선점하고 처리하는 동안 processing-ttl 의 1/3 마다 연장
+ *   (처리가 오래 걸려도 재시도가 다시 처리하지 않음, 서버가 죽으면 연장이 멈춰서 processing-ttl 뒤 만료)
+ * - 처리가 끝나면 응답(또는 에러코드)을 ttl 동안 보관
+ * - 완료/해제/연장은 자신이 선점한 PROCESSING 기록일 때만 (만료 후 다른 요청이 선점했다면 그 결과를 덮어쓰지 않음)
+ * - 같은 키로 들어온 요청은 PROCESSING 이 끝날 때까지 짧은 간격으로 다시 확인하며 기다림
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+    private static final long MIN_POLL_MILLIS = 10L;
+    private static final long MAX_POLL_MILLIS = 100L;
+    // 값이 ARGV[1] (자신의 PROCESSING 기록) 일 때만 변경
+    private static final String COMPLETE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then "
+                    + "redis.call('set', KEYS[1], ARGV[2], 'PX', ARGV[3]) return 1 end return 0";
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then redis.call('del', KEYS[1]) return 1 end return 0";
+    private static final String EXTEND_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then redis.call('pexpire', KEYS[1], ARGV[2]) return 1 end return 0";
+
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+    private final long ttlSeconds;
+    private final long processingTtlMillis;
+    private final ScheduledExecutorService keepAliveScheduler;   // PROCESSING 연장 (워치독)
+
+    public IdempotencyService(
+            RedissonClient redissonClient,
+            ObjectMapper objectMapper,
+            @Value("${account.idempotency.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${account.idempotency.processing-ttl-ms:15000}") long processingTtlMillis) {
+        this.redissonClient = redissonClient;
+        this.objectMapper = objectMapper;
+        this.ttlSeconds = ttlSeconds;
+        this.processingTtlMillis = processingTtlMillis;
+        this.keepAliveScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-keep-alive");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        keepAliveScheduler.shutdownNow();
+    }
+
+    /**
+     * 멱등키 선점 시도
+     * @param claim 이 요청의 PROCESSING 기록 (IdempotencyRecord.processing)
+     * @return 선점했으면 null, 이미 있으면 저장되어 있던 기록
+     */
+    public IdempotencyRecord begin(String key, IdempotencyRecord claim) {
+        RBucket<String> bucket = getBucket(key);
+        if (bucket.trySet(toJson(claim), processingTtlMillis, TimeUnit.MILLISECONDS)) {
+            return null;
+        }
+        IdempotencyRecord record = fromJson(bucket.get());
+        return record == null ? begin(key, claim) : record;   // 확인하는 사이에 만료됨 -> 다시 선점 시도
+    }
+
+    /**
+     * 처리하는 동안 PROCESSING 기록이 만료되지 않도록 연장 (처리가 끝나면 cancel)
+     */
+    public ScheduledFuture<?> keepAlive(String key, IdempotencyRecord claim) {
+        long period = Math.max(processingTtlMillis / 3, 1);
+        return keepAliveScheduler.scheduleAtFixedRate(() -> {
+            try {
+                if (!compareAndRun(EXTEND_SCRIPT, key, toJson(claim), String.valueOf(processingTtlMillis))) {
+                    log.warn("Idempotency claim lost while processing. {}", key);
+                }
+            } catch (Exception e) {   // 레디스 장애 중에도 다음 주기에 다시 시도
+                log.warn("Failed to extend idempotency claim. {}", key, e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 처리 결과를 보관 (자신의 PROCESSING 기록일 때만)
+     * @return 보관했으면 true, 그 사이 다른 요청이 선점해서 보관하지 않았으면 false
+     */
+    public boolean complete(String key, IdempotencyRecord claim, IdempotencyRecord record) {
+        return compareAndRun(COMPLETE_SCRIPT, key, toJson(claim), toJson(record),
+                String.valueOf(TimeUnit.SECONDS.toMillis(ttlSeconds)));
+    }
+
+    public boolean release(String key, IdempotencyRecord claim) {   // 다시 처리해도 되는 실패 (락 취득 실패 등) -> 다음 요청이 새로 처리
+        return compareAndRun(RELEASE_SCRIPT, key, toJson(claim));
+    }
+
+    /**
+     * 처음 요청이 끝날 때까지 기다림
+     * @return 처리가 끝난 기록, 그 사이 키가 풀렸으면 null, 시간 안에 안 끝나면 PROCESSING 기록
+     */
+    public IdempotencyRecord await(String key, long waitMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        long pollMillis = MIN_POLL_MILLIS;
+        while (true) {
+            IdempotencyRecord record = fromJson(getBucket(key).get());
+            if (record == null || !record.isProcessing()) {
+                return record;
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                return record;
+            }
+            Thread.sleep(Math.min(pollMillis, remainingMillis));
+            pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    private RBucket<String> getBucket(String key) {
+        return redissonClient.getBucket(redisKey(key), StringCodec.INSTANCE);
+    }
+
+    private boolean compareAndRun(String script, String key, Object... args) {
+        Boolean result = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                script, RScript.ReturnType.BOOLEAN, List.of(redisKey(key)), args);
+        return Boolean.TRUE.equals(result);
+    }
+
+    private String redisKey(String key) {
+        return "IDEM:" + key;
+    }
+
+    private String toJson(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private IdempotencyRecord fromJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IdempotencyRecord {
+        private String fingerprint;   // 요청 본문 해시 (같은 키로 다른 요청을 보내면 거절)
+        private boolean processing;
+        private String owner;   // PROCESSING 을 선점한 요청 (요청마다 랜덤)
+        private String response;   // 성공 응답 JSON
+        private String errorCode;   // 실패한 경우 에러코드
+
+        public static IdempotencyRecord processing(String fingerprint) {
+            return new IdempotencyRecord(fingerprint, true, UUID.randomUUID().toString(), null, null);
+        }
+
+        public static IdempotencyRecord success(String fingerprint, String response) {
+            return new IdempotencyRecord(fingerprint, false, null, response, null);
+        }
+
+        public static IdempotencyRecord failure(String fingerprint, String errorCode) {
+            return new IdempotencyRecord(fingerprint, false, null, null, errorCode);
+        }
+    }
+}
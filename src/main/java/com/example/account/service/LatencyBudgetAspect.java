@@ -0,0 +1,61 @@
+package com.example.account.service;
+
+import com.example.account.aop.LatencyBudget;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Aspect
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)   // 락 대기시간까지 포함해서 측정하도록 가장 바깥에서 감쌈
+@RequiredArgsConstructor
+public class LatencyBudgetAspect {
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;   // account.latency-budget.<엔드포인트> 로 허용시간 덮어쓰기
+
+    @Around("@annotation(latencyBudget)")
+    public Object aroundMethod(
+            ProceedingJoinPoint pjp,
+            LatencyBudget latencyBudget
+    ) throws Throwable {
+        String endpoint = pjp.getSignature().getName();   // useBalance, cancelBalance ...
+        long budgetMillis = getBudgetMillis(endpoint, latencyBudget);
+        long startedAt = System.nanoTime();
+        Object result;
+        try {
+            result = pjp.proceed();
+        } catch (Throwable t) {
+            record(endpoint, budgetMillis, startedAt);
+            throw t;
+        }
+        if (result instanceof Mono<?> mono) {   // 리액티브 엔드포인트는 응답이 끝날 때까지 측정
+            return mono.doFinally(signal -> record(endpoint, budgetMillis, startedAt));
+        }
+        record(endpoint, budgetMillis, startedAt);
+        return result;
+    }
+
+    private void record(String endpoint, long budgetMillis, long startedAt) {
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000L;
+        if (elapsedMillis > budgetMillis) {   // 허용 시간을 넘긴 경우 카운트를 올리고 로그를 남김
+            meterRegistry.counter("latency.budget.breach", "endpoint", endpoint)
+                    .increment();
+            log.warn("Latency budget exceeded. endpoint : {}, elapsed : {}ms, budget : {}ms",
+                    endpoint, elapsedMillis, budgetMillis);
+        }
+    }
+
+    private long getBudgetMillis(String endpoint, LatencyBudget latencyBudget) {
+        return environment.getProperty("account.latency-budget." + endpoint,
+                Long.class, latencyBudget.value());
+    }
+}
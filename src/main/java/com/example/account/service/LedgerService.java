@@ -0,0 +1,217 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.BalanceJournal;
+import com.example.account.domain.BalanceSnapshot;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.BalanceJournalRepository;
+import com.example.account.repository.BalanceSnapshotRepository;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+
+/**
+ * LEDGER 모드 잔액 관리
+ * - 사용/취소는 account 행을 수정하지 않고 계좌별 원장(balance_journal)에 추가만 함
+ * - 자주 쓰는 계좌의 잔액, 마지막 순번은 메모리에 두고, snapshot-interval 건마다 스냅샷 저장
+ * - 메모리에 없으면 (처음, 제거됨, 롤백됨) 마지막 스냅샷 + 이후 원장으로 복구
+ * - 여러 서버가 같은 계좌에 쓰면 (account_id, sequence) 유니크 제약으로 나중 쪽의 INSERT 만 되돌리고,
+ *   먼저 기록된 원장까지 다시 복구해서 재시도 (트랜잭션은 롤백되지 않아서 일괄 처리의 다른 건에 영향 없음)
+ * account.balance 컬럼은 개설 잔액(원장 시작점)으로만 쓰고 이 모드에서는 바꾸지 않음
+ */
+@Slf4j
+@Service
+public class LedgerService {
+    private static final int MAX_APPEND_ATTEMPTS = 3;   // 순번 충돌 시 다시 복구해서 시도하는 최대 횟수
+
+    private final BalanceJournalRepository balanceJournalRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final long snapshotInterval;
+    private final Cache<String, AccountLedger> ledgers;   // 계좌번호 -> 메모리 잔액
+
+    public LedgerService(
+            BalanceJournalRepository balanceJournalRepository,
+            BalanceSnapshotRepository balanceSnapshotRepository,
+            @Value("${account.balance.snapshot-interval:100}") long snapshotInterval,
+            @Value("${account.balance.max-hot-accounts:10000}") long maxHotAccounts) {
+        this.balanceJournalRepository = balanceJournalRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.snapshotInterval = snapshotInterval;
+        this.ledgers = Caffeine.newBuilder()
+                .maximumSize(maxHotAccounts)   // 오래 안 쓴 계좌는 제거 (다음 사용 시 복구)
+                .build();
+    }
+
+    public long use(Account account, long amount) {   // 반영 후 잔액 반환
+        return append(account, USE, -amount);
+    }
+
+    public long cancel(Account account, long amount) {
+        return append(account, CANCEL, amount);
+    }
+
+    public long currentBalance(Account account) {
+        AccountLedger ledger = lockLedger(account);
+        try {
+            return ledger.balance;
+        } finally {
+            ledger.lock.unlock();
+        }
+    }
+
+    /**
+     * 특정 시점의 잔액 (그 시점 이전 마지막 스냅샷 + 이후 원장, 최대 snapshot-interval 건만 읽음)
+     */
+    public long balanceAt(Account account, LocalDateTime at) {
+        Optional<BalanceSnapshot> snapshot =
+                balanceSnapshotRepository.findFirstByAccountAndSnapshotAtLessThanEqualOrderBySequenceDesc(account, at);
+        long balance = snapshot.map(BalanceSnapshot::getBalance).orElse(account.getBalance());
+        List<BalanceJournal> journals =
+                balanceJournalRepository.findByAccountAndSequenceGreaterThanAndJournaledAtLessThanEqualOrderBySequence(
+                        account, snapshot.map(BalanceSnapshot::getSequence).orElse(0L), at);
+        for (BalanceJournal journal : journals) {
+            balance += journal.getDelta();
+        }
+        return balance;
+    }
+
+    /**
+     * 마지막 스냅샷 + 이후 원장으로 잔액 복구 (스냅샷이 없으면 개설 잔액부터)
+     */
+    AccountLedger recover(Account account) {
+        Optional<BalanceSnapshot> snapshot = balanceSnapshotRepository.findFirstByAccountOrderBySequenceDesc(account);
+        long balance = snapshot.map(BalanceSnapshot::getBalance).orElse(account.getBalance());
+        long sequence = snapshot.map(BalanceSnapshot::getSequence).orElse(0L);
+
+        for (BalanceJournal journal :
+                balanceJournalRepository.findByAccountAndSequenceGreaterThanOrderBySequence(account, sequence)) {
+            balance += journal.getDelta();
+            sequence = journal.getSequence();
+        }
+        log.debug("Ledger recovered. {} sequence : {}, balance : {}",
+                account.getAccountNumber(), sequence, balance);
+        return new AccountLedger(balance, sequence);
+    }
+
+    private long append(Account account, TransactionType transactionType, long delta) {
+        for (int attempt = 1; ; attempt++) {
+            AccountLedger ledger = lockLedger(account);
+            boolean appended = false;
+            try {
+                long balance = ledger.balance + delta;
+                if (balance < 0) {
+                    throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);  // 거래금액이 잔액보다 큼
+                }
+                long sequence = ledger.sequence + 1;
+                LocalDateTime now = LocalDateTime.now();
+
+                if (!balanceJournalRepository.insertIfAbsent(BalanceJournal.builder()   // 바로 INSERT 해서 순번 충돌을 여기서 확인
+                        .account(account)
+                        .sequence(sequence)
+                        .transactionType(transactionType)
+                        .delta(delta)
+                        .balance(balance)
+                        .journaledAt(now)
+                        .build())) {   // 다른 서버가 먼저 같은 순번을 기록함 -> 메모리 잔액을 버리고 다시 복구
+                    discard(account.getAccountNumber(), ledger);
+                    if (attempt < MAX_APPEND_ATTEMPTS) {
+                        log.debug("Ledger sequence conflict. Retrying. {} sequence : {}",
+                                account.getAccountNumber(), sequence);
+                        continue;
+                    }
+                    throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+                }
+                if (sequence % snapshotInterval == 0) {
+                    balanceSnapshotRepository.save(BalanceSnapshot.builder()
+                            .account(account)
+                            .sequence(sequence)
+                            .balance(balance)
+                            .snapshotAt(now)
+                            .build());
+                }
+
+                ledger.balance = balance;
+                ledger.sequence = sequence;
+                appended = true;
+                return balance;
+            } finally {
+                if (appended) {
+                    unlockAfterCompletion(account.getAccountNumber(), ledger);
+                } else {
+                    ledger.lock.unlock();
+                }
+            }
+        }
+    }
+
+    private AccountLedger lockLedger(Account account) {
+        while (true) {
+            AccountLedger ledger = ledgers.get(account.getAccountNumber(), key -> recover(account));
+            ledger.lock.lock();
+            if (ledger.valid) {
+                return ledger;
+            }
+            ledger.lock.unlock();   // 기다리는 사이에 롤백으로 버려진 잔액 -> 새로 복구
+        }
+    }
+
+    /**
+     * 트랜잭션이 끝날 때까지 이 계좌의 다른 기록을 막고,
+     * 롤백되면 메모리 잔액도 버려서 커밋되지 않은 잔액을 다른 요청이 보지 않도록 함
+     */
+    private void unlockAfterCompletion(String accountNumber, AccountLedger ledger) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ledger.lock.unlock();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    discard(accountNumber, ledger);
+                }
+                ledger.lock.unlock();
+            }
+        });
+    }
+
+    private void discard(String accountNumber, AccountLedger ledger) {
+        ledger.valid = false;
+        ledgers.asMap().remove(accountNumber, ledger);
+    }
+
+    static class AccountLedger {   // 계좌 하나의 메모리 잔액 (lock 을 잡은 상태에서만 변경)
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long balance;
+        private volatile long sequence;   // 마지막으로 기록한 원장 순번
+        private volatile boolean valid = true;
+
+        AccountLedger(long balance, long sequence) {
+            this.balance = balance;
+            this.sequence = sequence;
+        }
+
+        long getBalance() {
+            return balance;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package com.example.account.service;
 
+import com.example.account.aop.AccountLock;
 import com.example.account.aop.AccountLockIdInterface;
-import com.example.account.dto.UseBalance;
+import com.example.account.aop.AccountOwnerIdInterface;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -15,20 +16,31 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class LockAopAspect {  //
     private final LockService lockService;   // 락서비스를 가져옴
+    private final AccountLockPolicy accountLockPolicy;   // 락 없이 진행해도 되는 요청인지 (DB 락 모드, 실패할 요청, 분할된 계좌)
+
     // 커스텀 어노테이션 생성
-    @Around("@annotation(com.example.account.aop.AccountLock) && args(request)")
+    @Around("@annotation(accountLock) && args(request)")
         // 어떤 경우에 이 Aspect를 적용 할 것인가를 정의, @AccountLock 을 붙인 메소드들에 있는 request 파라미터를 가져옴
     public Object aroundMethod(
             ProceedingJoinPoint pjp,    // 진행하고 있던 join point
+            AccountLock accountLock,    // 엔드포인트 별 대기시간, 자동해제 시간, 락 방식
             AccountLockIdInterface request   // UseBalance, CancelBalance 상관없이 공통화된 인터페이스로 가져옴.
     ) throws Throwable {   // 예외는 던짐
-        // lock 취득 시도
-        lockService.lock(request.getAccountNumber());   // 락을 가져옴
+        Long userId = request instanceof AccountOwnerIdInterface ownerRequest ? ownerRequest.getUserId() : null;
+        if (!accountLockPolicy.requiresLock(userId, request.getAccountNumber(), accountLock.skipForHotAccount())) {
+            return pjp.proceed();
+        }
+
+        // lock 취득 시도 (대기/점유 시간, 실패 횟수는 LockService 가 엔드포인트 태그로 기록)
+        lockService.lock(request.getAccountNumber(),    // 락을 가져옴
+                accountLock.tryLockTIme(), accountLock.leaseTime(), accountLock.mode(),
+                pjp.getSignature().getName());
+
         try{
             return pjp.proceed();    // 진행하고 있던 join point를 가져와서 진행시킴
         } finally {
             // lock해제 (그 동작이 정상적으로 진행이 되든, 실패를 하든)
-            lockService.unlock(request.getAccountNumber());
+            lockService.unlock(request.getAccountNumber(), accountLock.mode());
         }
     }
 }
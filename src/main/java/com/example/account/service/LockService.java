@@ -2,33 +2,74 @@ package com.example.account.service;
 
 import com.example.account.exception.AccountException;
 import com.example.account.type.ErrorCode;
+import com.example.account.type.LockMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LockService {
+    private static final int STRIPE_COUNT = 256;   // 로컬 락 스트라이프 개수 (계좌번호 해시로 분배)
+    private static final long WAIT_MILLIS = 1000L;
+    private static final long LEASE_MILLIS = 15000L;
+    private static final long SPIN_MIN_BACKOFF_MILLIS = 5L;   // SPIN 모드 재시도 간격
+    private static final long SPIN_MAX_BACKOFF_MILLIS = 50L;
+    private static final String KEY_PREFIX = "ACLK";
+    private static final String DEFAULT_ENDPOINT = "default";   // 엔드포인트를 넘기지 않은 호출
+
     private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;   // 락 대기/점유 시간, 실패 횟수 (유일한 락 미터, 호출한 엔드포인트 태그)
+    private final Map<String, Held> held = new ConcurrentHashMap<>();   // 계좌번호 -> 락을 잡은 시각, 엔드포인트 (점유 시간 계산)
+    private final ReentrantLock[] stripes = createStripes();
+    // 같은 노드 안의 경합은 로컬 락에서 대기 -> 스트라이프를 잡은 스레드만 레디스 락을 경쟁 (레디스 왕복 감소)
+
+    public void lock(String accountNumber) {   // 기본값(1초 대기, 15초 후 자동 해제)으로 락
+        lock(accountNumber, WAIT_MILLIS, LEASE_MILLIS, LockMode.NON_FAIR, DEFAULT_ENDPOINT);
+    }
 
-    public void lock(String accountNumber) {
-        RLock lock = redissonClient.getLock(getLockKey(accountNumber));  // 받아온 계좌번호 자체를 락의 키로 설정
+    /**
+     * @param endpoint 락을 요청한 엔드포인트 (useBalance, useBalanceBatch ...) -> 미터의 endpoint 태그
+     */
+    public void lock(String accountNumber, long waitMillis, long leaseMillis, LockMode lockMode, String endpoint) {
+        ReentrantLock stripe = getStripe(accountNumber);
         log.debug("Trying lock for accountNumber : {}", accountNumber);    // 로그로 디버깅으로 심음
 
-        try {  // 위에서 받은 락으로 시도
-            boolean isLock = lock.tryLock(1, 15, TimeUnit.SECONDS);
-            //1초 동안 아무작업 안 하면 자동으로 락이 풀리게 되고,
-            //15초 동안 기다려봤을 때까지 락이 안 풀려있으면, 다시 락 취득을 못 함
+        long startedAt = System.nanoTime();
+        try {
+            lockLocal(stripe, waitMillis);   // 1단계: 로컬 락
+        } catch (AccountException e) {
+            recordFailure(lockMode, endpoint, "local", startedAt);
+            throw e;
+        }
+        long remainingMillis = waitMillis - (System.nanoTime() - startedAt) / 1_000_000L;
+
+        RLock lock = getLock(accountNumber, lockMode);  // 받아온 계좌번호 자체를 락의 키로 설정
+        try {  // 2단계: 위에서 받은 락으로 시도 (로컬 락에서 기다린 시간만큼 대기시간을 줄임)
+            boolean isLock = tryLock(lock, Math.max(remainingMillis, 0L), leaseMillis, lockMode);
+            //최대 waitMillis 동안 락 취득을 기다려보고,
+            //leaseMillis 가 지나면 (unlock 을 못 하더라도) 자동으로 락이 풀림
             if (!isLock) {  // 락 획득에 실패하면,
                 log.error("========================== Lock acquisition failed============");
                 throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);  // 거래 실패
             }
+            long now = System.nanoTime();
+            timer("redis.lock.wait", lockMode, endpoint, "acquired").record(now - startedAt, TimeUnit.NANOSECONDS);
+            held.put(accountNumber, new Held(now, endpoint));
         } catch (AccountException e) {  // AccountException에 대한 에러는 에러 응답에 활용할 수 있도록 글로벌익셉션으로 던짐
+            stripe.unlock();   // 레디스 락을 못 잡았으면 로컬 락도 바로 풀어줌
+            recordFailure(lockMode, endpoint, "redis", startedAt);
             throw e;
         } catch (Exception e) {   // 그 외에 락을 가져오지 못해 발생하는 에러가 아닌 기타 에러는
             log.error("Redis lock failed", e);   // 로그에 에러만 찍히도록 함.
@@ -36,12 +77,140 @@ public class LockService {
     }
 
     public void unlock(String accountNumber) {   // 언락
+        unlock(accountNumber, LockMode.NON_FAIR);
+    }
+
+    public void unlock(String accountNumber, LockMode lockMode) {   // 락을 잡은 방식과 같은 방식으로 언락
         log.debug("Unlock for accountNumber : {} " + accountNumber);  // accountNumber에 대해서 락을 푼다는 것을 알려줌.
-        redissonClient.getLock(getLockKey(accountNumber)).unlock();   // 락을 가져온 후, 이것을 언락으로 풀어줌
+        recordHold(accountNumber, lockMode);
+        try {
+            getLock(accountNumber, lockMode).unlock();   // 락을 가져온 후, 이것을 언락으로 풀어줌
+        } finally {
+            ReentrantLock stripe = getStripe(accountNumber);
+            if (stripe.isHeldByCurrentThread()) {   // 레디스 언락이 실패해도 로컬 락은 반드시 풀어줌
+                stripe.unlock();
+            }
+        }
     }
 
-    private static String getLockKey(String accountNumber) {
-        return "ACLK:" + accountNumber;
+    /**
+     * 리액티브 경로(ReactiveTransactionService)용 락 -> 락을 기다리는 동안 스레드를 차지하지 않음
+     * 스레드가 아니라 ownerId 로 소유자를 구분하므로 로컬 스트라이프 락은 거치지 않고 NON_FAIR 로만 잠금
+     * 레디스 키, 대기/점유 시간, 실패 횟수는 lock() 과 같음
+     */
+    public Mono<Void> lockReactive(String accountNumber, long ownerId,
+                                   long waitMillis, long leaseMillis, String endpoint) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return redissonClient.reactive().getLock(getLockKey(accountNumber))
+                    .tryLock(waitMillis, leaseMillis, TimeUnit.MILLISECONDS, ownerId)
+                    .onErrorResume(e -> {   // 레디스 오류도 락을 못 잡은 것으로 처리 (락 없이 진행하지 않음)
+                        log.error("Reactive redis lock failed", e);
+                        return Mono.just(false);
+                    })
+                    .flatMap(locked -> {
+                        if (!locked) {
+                            recordFailure(LockMode.NON_FAIR, endpoint, "redis", startedAt);
+                            return Mono.<Void>error(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+                        }
+                        long now = System.nanoTime();
+                        timer("redis.lock.wait", LockMode.NON_FAIR, endpoint, "acquired")
+                                .record(now - startedAt, TimeUnit.NANOSECONDS);
+                        held.put(accountNumber, new Held(now, endpoint));
+                        return Mono.<Void>empty();
+                    });
+        });
+    }
+
+    public Mono<Void> unlockReactive(String accountNumber, long ownerId) {   // lockReactive 에서 쓴 ownerId 로 언락
+        return Mono.defer(() -> {
+            recordHold(accountNumber, LockMode.NON_FAIR);
+            return redissonClient.reactive().getLock(getLockKey(accountNumber)).unlock(ownerId);
+        });
+    }
+
+    private void recordHold(String accountNumber, LockMode lockMode) {
+        Held lock = held.remove(accountNumber);
+        if (lock != null) {
+            timer("redis.lock.hold", lockMode, lock.endpoint(), null)
+                    .record(System.nanoTime() - lock.lockedAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void recordFailure(LockMode lockMode, String endpoint, String stage, long startedAt) {   // stage: local(같은 노드 대기), redis
+        timer("redis.lock.wait", lockMode, endpoint, "failed").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("redis.lock.failure",
+                "key", KEY_PREFIX, "mode", lockMode.name(), "endpoint", endpoint, "stage", stage).increment();
+    }
+
+    private Timer timer(String name, LockMode lockMode, String endpoint, String result) {   // 같은 이름+태그면 이미 등록된 타이머를 돌려줌
+        Timer.Builder builder = Timer.builder(name)
+                .tag("key", KEY_PREFIX)
+                .tag("mode", lockMode.name())
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram();   // 부하 상황에서 p99 등을 볼 수 있도록 히스토그램으로 내보냄
+        if (result != null) {
+            builder.tag("result", result);
+        }
+        return builder.register(meterRegistry);
+    }
+
+    private RLock getLock(String accountNumber, LockMode lockMode) {
+        if (lockMode == LockMode.FAIR) {   // 공정 락은 대기 순서를 별도 큐로 관리
+            return redissonClient.getFairLock(getLockKey(accountNumber));
+        }
+        return redissonClient.getLock(getLockKey(accountNumber));
+    }
+
+    private boolean tryLock(RLock lock, long waitMillis, long leaseMillis, LockMode lockMode)
+            throws InterruptedException {
+        if (lockMode != LockMode.SPIN) {
+            return lock.tryLock(waitMillis, leaseMillis, TimeUnit.MILLISECONDS);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        long backoffMillis = SPIN_MIN_BACKOFF_MILLIS;
+        while (true) {   // 대기 없이 시도 -> 실패하면 조금씩 늘려가며 재시도
+            if (lock.tryLock(0L, leaseMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                return false;
+            }
+            Thread.sleep(Math.min(backoffMillis, remainingMillis));
+            backoffMillis = Math.min(backoffMillis * 2, SPIN_MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    private void lockLocal(ReentrantLock stripe, long waitMillis) {
+        try {
+            if (!stripe.tryLock(waitMillis, TimeUnit.MILLISECONDS)) {   // 같은 노드의 다른 요청이 오래 잡고 있음
+                log.error("========================== Local lock acquisition failed============");
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    private ReentrantLock getStripe(String accountNumber) {
+        return stripes[Math.floorMod(accountNumber.hashCode(), STRIPE_COUNT)];
     }
-}
 
+    private static ReentrantLock[] createStripes() {
+        ReentrantLock[] stripes = new ReentrantLock[STRIPE_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        return stripes;
+    }
+
+    private record Held(long lockedAt, String endpoint) {   // 잡은 락 (점유 시간을 같은 엔드포인트 태그로 기록)
+    }
+
+    private static String getLockKey(String accountNumber) {   // 서블릿, 일괄 처리, 리액티브 경로 모두 같은 키로 잠금
+        return KEY_PREFIX + ":" + accountNumber;
+    }
+}
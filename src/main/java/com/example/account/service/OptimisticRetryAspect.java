@@ -0,0 +1,49 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ConcurrencyMode;
+import com.example.account.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)   // @Transactional 보다 바깥에서 감싸야 재시도 때마다 새 트랜잭션이 열림
+public class OptimisticRetryAspect {
+    private final ConcurrencyMode concurrencyMode;
+    private final int maxRetries;   // 충돌 시 최대 재시도 횟수
+
+    public OptimisticRetryAspect(
+            @Value("${account.transaction.concurrency-mode:REDIS_LOCK}") ConcurrencyMode concurrencyMode,
+            @Value("${account.transaction.optimistic-max-retries:3}") int maxRetries) {
+        this.concurrencyMode = concurrencyMode;
+        this.maxRetries = maxRetries;
+    }
+
+    @Around("@annotation(com.example.account.aop.OptimisticRetry)")
+    public Object aroundMethod(ProceedingJoinPoint pjp) throws Throwable {
+        if (concurrencyMode != ConcurrencyMode.OPTIMISTIC) {   // 다른 모드에서는 그대로 진행
+            return pjp.proceed();
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return pjp.proceed();
+            } catch (OptimisticLockingFailureException e) {   // 다른 요청이 먼저 잔액을 바꿈 -> 다시 읽어서 처리
+                if (attempt >= maxRetries) {
+                    log.error("Optimistic lock retry exhausted. {}", pjp.getSignature().getName());
+                    throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);  // 해당 계좌는 사용 중
+                }
+                log.debug("Optimistic lock conflict, retry {}/{}", attempt + 1, maxRetries);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.account.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 락 경합 테스트용 인위적 처리 지연
+ * 기본값은 0 (지연 없음), lock-test 프로필에서만 지연을 줌
+ */
+@Slf4j
+@Component
+public class ProcessingDelaySimulator {
+    private final long delayMillis;
+
+    public ProcessingDelaySimulator(
+            @Value("${account.transaction.simulated-delay-ms:0}") long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    public void simulate() {
+        if (delayMillis <= 0) {   // 운영 경로에서는 아무것도 하지 않음
+            return;
+        }
+
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();   // 인터럽트 상태는 유지
+            log.warn("Simulated processing delay interrupted.");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.type.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+
+/**
+ * 잔액 사용/취소의 논블로킹 버전 (/reactive/transaction/**)
+ * - 계좌 락은 LockService.lockReactive 로 기다림 -> 락 대기 중인 요청은 스레드를 차지하지 않음
+ *   락 키, 락 미터, 락을 생략하는 규칙(AccountLockPolicy)은 서블릿 경로(@AccountLock)와 같아서 서로 배제됨
+ * - 락을 잡은 뒤의 처리는 기존 TransactionService 를 그대로 사용 (검증, 잔액 변경 로직 공유)
+ *   JPA/JDBC 는 막히는 호출이므로 커넥션 풀 크기만큼의 전용 스케줄러에서 실행
+ */
+@Slf4j
+@Service
+public class ReactiveTransactionService {
+    private final TransactionService transactionService;
+    private final FailedTransactionRecorder failedTransactionRecorder;
+    private final LockService lockService;
+    private final AccountLockPolicy accountLockPolicy;
+    private final long waitMillis;
+    private final long leaseMillis;
+    private final Scheduler jdbcScheduler;
+    private final AtomicLong lockOwnerIds = new AtomicLong(ThreadLocalRandom.current().nextLong());
+    // 리액티브 락은 스레드가 아니라 요청 별 id 로 소유자를 구분
+
+    public ReactiveTransactionService(
+            TransactionService transactionService,
+            FailedTransactionRecorder failedTransactionRecorder,
+            LockService lockService,
+            AccountLockPolicy accountLockPolicy,
+            @Value("${account.reactive.lock-wait-ms:1000}") long waitMillis,
+            @Value("${account.reactive.lock-lease-ms:15000}") long leaseMillis,
+            @Value("${account.reactive.jdbc-threads:10}") int jdbcThreads) {
+        this.transactionService = transactionService;
+        this.failedTransactionRecorder = failedTransactionRecorder;
+        this.lockService = lockService;
+        this.accountLockPolicy = accountLockPolicy;
+        this.waitMillis = waitMillis;
+        this.leaseMillis = leaseMillis;
+        this.jdbcScheduler = Schedulers.newBoundedElastic(jdbcThreads,
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "reactive-jdbc");
+    }
+
+    public Mono<TransactionDto> useBalance(Long userId, String accountNumber, Long amount) {
+        return withAccountLock("reactiveUseBalance", userId, accountNumber, false, blocking(USE, accountNumber, amount,
+                () -> transactionService.useBalance(userId, accountNumber, amount)));
+    }
+
+    public Mono<TransactionDto> cancelBalance(String transactionId, String accountNumber, Long amount) {
+        return withAccountLock("reactiveCancelBalance", null, accountNumber, true,   // @AccountLock(skipForHotAccount = true) 와 같음
+                blocking(CANCEL, accountNumber, amount,
+                        () -> transactionService.cancelBalance(transactionId, accountNumber, amount)));
+    }
+
+    private Mono<TransactionDto> blocking(TransactionType transactionType, String accountNumber,
+                                          Long amount, Callable<TransactionDto> action) {
+        return Mono.fromCallable(action)
+                .doOnError(AccountException.class, e ->   // 서블릿 경로와 같이 실패건은 큐에 넣음
+                        failedTransactionRecorder.record(transactionType, accountNumber, amount))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    private <T> Mono<T> withAccountLock(String endpoint, Long userId, String accountNumber,   // endpoint: 락 미터 태그 (컨트롤러 메소드 이름)
+                                         boolean skipForHotAccount, Mono<T> action) {
+        return Mono.fromCallable(() -> accountLockPolicy.requiresLock(userId, accountNumber, skipForHotAccount))
+                .subscribeOn(jdbcScheduler)   // 분할 계좌 여부는 캐시에 없으면 DB 를 조회
+                .flatMap(requiresLock -> requiresLock ? locked(endpoint, accountNumber, action) : action);
+    }
+
+    private <T> Mono<T> locked(String endpoint, String accountNumber, Mono<T> action) {
+        long ownerId = lockOwnerIds.incrementAndGet();
+        return lockService.lockReactive(accountNumber, ownerId, waitMillis, leaseMillis, endpoint)
+                .then(Mono.defer(() -> {
+                    // 락을 잡은 뒤의 처리는 클라이언트가 끊어도 끝까지 진행하고 나서 락을 풂
+                    // (중간에 락을 풀면 같은 계좌의 다른 요청과 동시에 잔액을 바꿀 수 있음)
+                    Mono<T> running = action
+                            .doFinally(signal -> lockService.unlockReactive(accountNumber, ownerId).subscribe(
+                                    unlocked -> { },
+                                    e -> log.error("Reactive unlock failed. {}", accountNumber, e)))
+                            .cache();
+                    running.subscribe(result -> { }, e -> { });
+                    return running;
+                }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jdbcScheduler.dispose();
+    }
+}
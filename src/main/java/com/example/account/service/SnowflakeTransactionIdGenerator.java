@@ -0,0 +1,87 @@
+package com.example.account.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간순으로 정렬되는 거래 id 발급기 (Snowflake 구조)
+ * [41비트: 기준 시각 이후 ms][10비트: 노드 id][12비트: 같은 ms 안의 순번] 을 13자리 Crockford Base32 로 표현
+ * - 고정 길이라 문자열 순서 = 발급 순서 (인덱스 끝에만 INSERT 되어 B-tree 페이지 분할이 적음)
+ * - SecureRandom, 락 없이 CAS 로 발급하고 문자열은 하나만 만듦
+ * - 한 ms 에 4096개를 넘기거나 시계가 뒤로 가도 다음 ms 를 빌려 써서 단조 증가는 유지
+ * 노드 id 를 설정하지 않으면 레디스에서 임대 (인스턴스끼리 같은 노드 id 면 같은 ms 에 같은 id 가 나옴)
+ */
+@Component
+@ConditionalOnProperty(name = "account.transaction-id.type", havingValue = "SNOWFLAKE", matchIfMissing = true)
+public class SnowflakeTransactionIdGenerator implements TransactionIdGenerator {
+    static final long EPOCH = 1640995200000L;   // 2022-01-01T00:00:00Z (41비트로 약 69년 사용)
+    static final int NODE_ID_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_ID_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ID_LENGTH = 13;   // 64비트 / 5비트
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();   // Crockford (I, L, O, U 제외, 아스키 순서)
+
+    private final long nodeId;
+    private final AtomicLong state = new AtomicLong();   // 마지막 발급 값의 [시각|순번] (노드 id 제외)
+
+    @Autowired
+    public SnowflakeTransactionIdGenerator(
+            @Value("${account.transaction-id.node-id:#{null}}") Long nodeId,
+            ObjectProvider<TransactionNodeIdLease> nodeIdLease) {
+        this(nodeId != null ? nodeId : leaseNodeId(nodeIdLease));
+    }
+
+    public SnowflakeTransactionIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("account.transaction-id.node-id must be 0.." + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    private static long leaseNodeId(ObjectProvider<TransactionNodeIdLease> nodeIdLease) {
+        TransactionNodeIdLease lease = nodeIdLease.getIfAvailable();
+        if (lease == null) {   // 기본값(0)으로 두면 인스턴스끼리 id 가 겹치므로 시작을 실패시킴
+            throw new IllegalStateException(
+                    "account.transaction-id.node-id must be set when Redis is not available");
+        }
+        return lease.acquire(MAX_NODE_ID);
+    }
+
+    @Override
+    public String nextId() {
+        return encode(nextLong());
+    }
+
+    long nextLong() {
+        long now = (currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = state.get();
+            next = Math.max(now, previous + 1);   // 같은 ms 면 순번 증가, 순번이 넘치면 다음 ms 로 넘어감
+        } while (!state.compareAndSet(previous, next));
+
+        return ((next >>> SEQUENCE_BITS) << (NODE_ID_BITS + SEQUENCE_BITS))
+                | (nodeId << SEQUENCE_BITS)
+                | (next & SEQUENCE_MASK);
+    }
+
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[ID_LENGTH];
+        for (int i = ID_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 0x1F)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 요청 span(TracingFilter) 아래에 단계별 span 을 만듦
+ * - lock.acquire / lock.release : LockService (레디스 락 대기 시간, @AccountLock, 일괄 처리, 리액티브 경로 모두)
+ * - TransactionService.<메소드> : 커밋 시간까지 포함되도록 트랜잭션 바깥에서 감쌈
+ * - <리포지토리>.<메소드> : 계좌 조회, 거래 저장 등 쿼리 단위
+ * 샘플링되지 않은 요청에서는 기록하지 않는 span 만 만들어지므로 비용이 거의 없음
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)   // 멱등성 처리 안쪽, @Transactional 바깥
+@RequiredArgsConstructor
+public class TracingAspect {
+    private final Tracer tracer;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();   // 프록시 클래스 -> 리포지토리 이름
+
+    @Around("execution(public * com.example.account.service.LockService.lock(String, ..)) && args(accountNumber, ..)")
+    public Object traceLock(ProceedingJoinPoint pjp, String accountNumber) throws Throwable {
+        return trace(pjp, tracer.spanBuilder("lock.acquire")
+                .setAttribute("account.number", accountNumber));
+    }
+
+    @Around("execution(public * com.example.account.service.LockService.unlock(String, ..)) && args(accountNumber, ..)")
+    public Object traceUnlock(ProceedingJoinPoint pjp, String accountNumber) throws Throwable {
+        return trace(pjp, tracer.spanBuilder("lock.release")
+                .setAttribute("account.number", accountNumber));
+    }
+
+    @Around("execution(public * com.example.account.service.LockService.lockReactive(String, ..)) && args(accountNumber, ..)")
+    public Object traceReactiveLock(ProceedingJoinPoint pjp, String accountNumber) throws Throwable {
+        return traceMono(pjp, () -> tracer.spanBuilder("lock.acquire")
+                .setAttribute("account.number", accountNumber));
+    }
+
+    @Around("execution(public * com.example.account.service.LockService.unlockReactive(String, ..)) && args(accountNumber, ..)")
+    public Object traceReactiveUnlock(ProceedingJoinPoint pjp, String accountNumber) throws Throwable {
+        return traceMono(pjp, () -> tracer.spanBuilder("lock.release")
+                .setAttribute("account.number", accountNumber));
+    }
+
+    @Around("execution(public * com.example.account.service.TransactionService.*(..))")
+    public Object traceTransactionService(ProceedingJoinPoint pjp) throws Throwable {
+        return trace(pjp, tracer.spanBuilder("TransactionService." + pjp.getSignature().getName()));
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint pjp) throws Throwable {   // 상속받은 save, findById 포함
+        return trace(pjp, tracer.spanBuilder(
+                repositoryName(pjp.getThis()) + "." + pjp.getSignature().getName()));
+    }
+
+    private Object trace(ProceedingJoinPoint pjp, SpanBuilder spanBuilder) throws Throwable {
+        Span span = spanBuilder.startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            return pjp.proceed();
+        } catch (Throwable e) {
+            markError(span, e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private Mono<?> traceMono(ProceedingJoinPoint pjp, Supplier<SpanBuilder> spanBuilder) throws Throwable {
+        Mono<?> mono = (Mono<?>) pjp.proceed();
+        return Mono.defer(() -> {   // 메소드 호출이 아니라 구독 ~ 완료 사이가 실제로 락을 기다리는 시간
+            Span span = spanBuilder.get().startSpan();
+            return mono.doOnError(e -> markError(span, e))
+                    .doFinally(signal -> span.end());
+        });
+    }
+
+    private void markError(Span span, Throwable e) {
+        if (e instanceof AccountException accountException) {   // 잔액 부족 등 예상된 실패는 에러코드만 남김
+            span.setAttribute("error.code", accountException.getErrorCode().name());
+        } else {
+            span.recordException(e);
+        }
+        span.setStatus(StatusCode.ERROR);
+    }
+
+    private String repositoryName(Object proxy) {   // 프록시가 구현한 우리 리포지토리 인터페이스 이름 (AccountRepository 등)
+        return repositoryNames.computeIfAbsent(proxy.getClass(), type -> {
+            for (Class<?> repositoryInterface : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+                if (repositoryInterface.getName().startsWith("com.example.account.")) {
+                    return repositoryInterface.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
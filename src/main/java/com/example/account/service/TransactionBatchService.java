@@ -0,0 +1,93 @@
+package com.example.account.service;
+
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ConcurrencyMode;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.LockMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 잔액 사용 일괄 처리
+ * 계좌번호 별로 묶어서 계좌 락은 한번만 잡고,
+ * 같은 계좌의 건들은 요청 순서대로 하나의 DB 트랜잭션에서 처리
+ */
+@Slf4j
+@Service
+public class TransactionBatchService {
+    private static final String ENDPOINT = "useBalanceBatch";   // 락 미터의 endpoint 태그 (TransactionController 메소드 이름)
+
+    private final TransactionService transactionService;
+    private final LockService lockService;
+    private final ConcurrencyMode concurrencyMode;
+    private final long lockWaitMillis;
+    private final long lockLeaseMillis;
+
+    public TransactionBatchService(
+            TransactionService transactionService,
+            LockService lockService,
+            @Value("${account.transaction.concurrency-mode:REDIS_LOCK}") ConcurrencyMode concurrencyMode,
+            @Value("${account.batch.lock-wait-ms:1000}") long lockWaitMillis,
+            @Value("${account.batch.lock-lease-ms:15000}") long lockLeaseMillis) {
+        this.transactionService = transactionService;
+        this.lockService = lockService;
+        this.concurrencyMode = concurrencyMode;
+        this.lockWaitMillis = lockWaitMillis;
+        this.lockLeaseMillis = lockLeaseMillis;
+    }
+
+    public List<UseBalanceBatch.ItemResult> useBalanceBatch(List<UseBalance.Request> requests) {
+        Map<String, List<Integer>> indexesByAccount = new LinkedHashMap<>();   // 계좌번호 -> 요청 순번들 (순서 유지)
+        for (int i = 0; i < requests.size(); i++) {
+            indexesByAccount.computeIfAbsent(requests.get(i).getAccountNumber(),
+                    accountNumber -> new ArrayList<>()).add(i);
+        }
+
+        UseBalanceBatch.ItemResult[] results = new UseBalanceBatch.ItemResult[requests.size()];
+        indexesByAccount.forEach((accountNumber, indexes) -> {
+            List<UseBalanceBatch.ItemResult> groupResults = useBalanceGroup(accountNumber,
+                    indexes.stream().map(requests::get).collect(Collectors.toList()));
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = groupResults.get(i);   // 원래 요청 순서 자리에 결과를 넣음
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    private List<UseBalanceBatch.ItemResult> useBalanceGroup(
+            String accountNumber, List<UseBalance.Request> requests) {
+        boolean redisLock = concurrencyMode == ConcurrencyMode.REDIS_LOCK;   // DB 락 모드에서는 레디스 락 없이 진행
+        try {
+            if (redisLock) {
+                lockService.lock(accountNumber, lockWaitMillis, lockLeaseMillis, LockMode.NON_FAIR, ENDPOINT);
+            }
+        } catch (AccountException e) {   // 락을 못 잡으면 이 계좌의 건들은 모두 실패
+            log.error("Failed to lock account for batch. {}", accountNumber);
+            return failAll(requests, e.getErrorCode());
+        }
+
+        try {
+            return transactionService.useBalanceGroup(accountNumber, requests);
+        } catch (AccountException e) {   // 낙관적 락 재시도 초과 등
+            log.error("Failed to use balance batch. {}", accountNumber);
+            return failAll(requests, e.getErrorCode());
+        } finally {
+            if (redisLock) {
+                lockService.unlock(accountNumber, LockMode.NON_FAIR);
+            }
+        }
+    }
+
+    private static List<UseBalanceBatch.ItemResult> failAll(
+            List<UseBalance.Request> requests, ErrorCode errorCode) {
+        return requests.stream()
+                .map(request -> UseBalanceBatch.ItemResult.fail(errorCode))
+                .collect(Collectors.toList());
+    }
+}
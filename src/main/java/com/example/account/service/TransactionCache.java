@@ -0,0 +1,84 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거래 조회 캐시 (transactionId -> TransactionDto)
+ * 한번 저장된 거래는 바뀌지 않으므로 무효화 없이 크기/TTL 로만 제거
+ * 1차: 로컬(Caffeine), 2차(선택): 레디스
+ */
+@Slf4j
+@Component
+public class TransactionCache {
+    private static final String REDIS_KEY_PREFIX = "TRX:";
+
+    private final Cache<String, TransactionDto> localCache;
+    private final RedissonClient redissonClient;
+    private final boolean redisEnabled;
+    private final long redisTtlSeconds;
+
+    public TransactionCache(
+            RedissonClient redissonClient,
+            MeterRegistry meterRegistry,
+            @Value("${account.transaction-cache.max-size:100000}") long maxSize,
+            @Value("${account.transaction-cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${account.transaction-cache.redis-enabled:false}") boolean redisEnabled,
+            @Value("${account.transaction-cache.redis-ttl-seconds:3600}") long redisTtlSeconds) {
+        this.redissonClient = redissonClient;
+        this.redisEnabled = redisEnabled;
+        this.redisTtlSeconds = redisTtlSeconds;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)   // 개수 초과 시 오래 안 쓴 것부터 제거
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()   // 적중/미스 통계
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "transaction");   // cache.gets{result=hit|miss} 등
+    }
+
+    public Optional<TransactionDto> get(String transactionId) {
+        TransactionDto transactionDto = localCache.getIfPresent(transactionId);
+        if (transactionDto != null || !redisEnabled) {
+            return Optional.ofNullable(transactionDto);
+        }
+
+        try {   // 다른 노드에서 저장한 거래는 레디스에서 찾음
+            RBucket<TransactionDto> bucket = redissonClient.getBucket(REDIS_KEY_PREFIX + transactionId);
+            transactionDto = bucket.get();
+        } catch (Exception e) {   // 레디스 장애 시에는 DB 에서 조회하도록 미스로 처리
+            log.warn("Failed to read transaction cache from redis. {}", transactionId, e);
+            return Optional.empty();
+        }
+        if (transactionDto != null) {
+            localCache.put(transactionId, transactionDto);
+        }
+        return Optional.ofNullable(transactionDto);
+    }
+
+    public void put(TransactionDto transactionDto) {
+        localCache.put(transactionDto.getTransactionId(), transactionDto);
+        if (!redisEnabled) {
+            return;
+        }
+
+        try {
+            redissonClient.<TransactionDto>getBucket(REDIS_KEY_PREFIX + transactionDto.getTransactionId())
+                    .set(transactionDto, redisTtlSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("Failed to write transaction cache to redis. {}",
+                    transactionDto.getTransactionId(), e);
+        }
+    }
+}
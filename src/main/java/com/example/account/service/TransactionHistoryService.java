@@ -0,0 +1,128 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.TransactionHistoryDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 계좌별 거래 내역
+ * 1. 키셋 페이지네이션 조회 (최신순)
+ * 2. NDJSON 내보내기 (시간순, 한 건씩 스트리밍)
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionHistoryService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final EntityManager entityManager;
+
+    @Transactional
+    public TransactionHistoryDto getTransactionHistory(
+            String accountNumber,
+            TransactionHistory.Condition condition,
+            String cursor,
+            int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+        Long accountId = getAccountId(accountNumber);
+        Cursor after = cursor == null ? null : Cursor.decode(cursor);
+
+        List<Transaction> transactions = transactionRepository.findHistory(accountId,
+                condition.getTransactionType(), condition.getTransactionResult(),
+                condition.getFrom(), condition.getTo(),
+                after == null ? null : after.getTransactedAt(),
+                after == null ? null : after.getId(),
+                size + 1);   // 한 건 더 읽어서 다음 페이지가 있는지 확인
+
+        boolean hasNext = transactions.size() > size;
+        List<Transaction> page = hasNext ? transactions.subList(0, size) : transactions;
+
+        return TransactionHistoryDto.builder()
+                .transactions(page.stream()
+                        .map(TransactionDto::fromEntity)
+                        .collect(Collectors.toList()))
+                .nextCursor(hasNext ? Cursor.of(page.get(size - 1)).encode() : null)
+                .build();
+    }
+
+    /**
+     * 조건에 맞는 거래를 시간순으로 한 건씩 consumer 에 넘김
+     * 넘긴 엔티티는 바로 영속성 컨텍스트에서 떼어내서 건수와 상관없이 메모리 사용량이 일정
+     */
+    @Transactional
+    public void exportTransactions(
+            Long accountId,
+            TransactionHistory.Condition condition,
+            Consumer<TransactionDto> consumer) {
+        try (Stream<Transaction> transactions = transactionRepository.streamHistory(accountId,
+                condition.getTransactionType(), condition.getTransactionResult(),
+                condition.getFrom(), condition.getTo())) {
+            transactions.forEach(transaction -> {
+                consumer.accept(TransactionDto.fromEntity(transaction));
+                entityManager.detach(transaction);
+            });
+        }
+    }
+
+    public Long getAccountId(String accountNumber) {   // 스트리밍 시작 전에 계좌가 있는지 확인
+        return accountRepository.findByAccountNumber(accountNumber)
+                .map(Account::getId)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+    }
+
+    /**
+     * 마지막으로 응답한 거래의 (transactedAt, id) 위치
+     * URL 에 그대로 쓸 수 있도록 Base64(URL-safe) 로 인코딩해서 전달 (암호화가 아니므로 id 는 디코딩하면 보임)
+     */
+    @Getter
+    @AllArgsConstructor
+    static class Cursor {
+        private static final String DELIMITER = "|";
+
+        private LocalDateTime transactedAt;
+        private Long id;
+
+        static Cursor of(Transaction transaction) {
+            return new Cursor(transaction.getTransactedAt(), transaction.getId());
+        }
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (transactedAt + DELIMITER + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int index = value.indexOf(DELIMITER);
+                return new Cursor(LocalDateTime.parse(value.substring(0, index)),
+                        Long.parseLong(value.substring(index + 1)));
+            } catch (RuntimeException e) {   // 잘못 만들어진 커서
+                throw new AccountException(ErrorCode.INVALID_REQUEST);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.account.service;
+
+/**
+ * 거래 id (transactionId) 발급기
+ * account.transaction-id.type 으로 구현체 선택 (SNOWFLAKE: 기본, UUID: 기존 방식)
+ */
+public interface TransactionIdGenerator {
+    String nextId();
+}
@@ -0,0 +1,100 @@
+package com.example.account.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snowflake 노드 id 임대 (account.transaction-id.node-id 를 설정하지 않았을 때)
+ * 레디스에 TRID:NODE:<id> 키를 SETNX + 만료시간으로 잡아서 살아있는 인스턴스끼리 같은 노드 id 를 쓰지 않도록 함
+ * 잡은 키는 만료시간의 1/3 마다 연장하고, 종료 시 지움 (비정상 종료면 만료 후 다른 인스턴스가 사용)
+ */
+@Slf4j
+@Component
+public class TransactionNodeIdLease {
+    static final String KEY_PREFIX = "TRID:NODE:";
+    static final String CURSOR_KEY = "TRID:NODE:CURSOR";   // 다음 인스턴스가 찾기 시작할 위치 (재시작마다 같은 id 부터 경쟁하지 않도록)
+
+    private final RedissonClient redissonClient;
+    private final long leaseSeconds;
+    private final String owner = UUID.randomUUID().toString();   // 이 인스턴스가 잡은 키인지 확인
+
+    private RBucket<String> leased;
+    private ScheduledExecutorService renewer;
+
+    public TransactionNodeIdLease(
+            RedissonClient redissonClient,
+            @Value("${account.transaction-id.node-lease-seconds:60}") long leaseSeconds) {
+        this.redissonClient = redissonClient;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    public synchronized long acquire(long maxNodeId) {
+        if (leased != null) {
+            throw new IllegalStateException("Transaction node id already leased");
+        }
+        long start = redissonClient.getAtomicLong(CURSOR_KEY).getAndIncrement();
+        for (long i = 0; i <= maxNodeId; i++) {
+            long nodeId = Math.floorMod(start + i, maxNodeId + 1);
+            RBucket<String> bucket = redissonClient.getBucket(KEY_PREFIX + nodeId, StringCodec.INSTANCE);
+            if (bucket.trySet(owner, leaseSeconds, TimeUnit.SECONDS)) {
+                leased = bucket;
+                startRenewal();
+                log.info("Leased transaction node id {}", nodeId);
+                return nodeId;
+            }
+        }
+        throw new IllegalStateException("All transaction node ids are in use (0.." + maxNodeId + ")");
+    }
+
+    private void startRenewal() {
+        renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transaction-node-id-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(leaseSeconds / 3, 1);
+        renewer.scheduleAtFixedRate(this::renew, period, period, TimeUnit.SECONDS);
+    }
+
+    void renew() {
+        try {
+            if (owner.equals(leased.get())) {
+                leased.expire(leaseSeconds, TimeUnit.SECONDS);
+            } else {   // 연장하지 못하는 사이 만료되어 다른 인스턴스가 가져감 -> 거래 id 가 겹칠 수 있음
+                log.error("Transaction node id lease lost. {}", leased.getName());
+            }
+        } catch (Exception e) {   // 레디스 장애 중에도 다음 주기에 다시 시도
+            log.warn("Failed to renew transaction node id lease. {}", leased.getName(), e);
+        }
+    }
+
+    String owner() {
+        return owner;
+    }
+
+    @PreDestroy
+    public synchronized void release() {
+        if (leased == null) {
+            return;
+        }
+        renewer.shutdownNow();
+        try {
+            if (owner.equals(leased.get())) {
+                leased.delete();
+            }
+        } catch (Exception e) {   // 지우지 못해도 만료되면 풀림
+            log.warn("Failed to release transaction node id lease. {}", leased.getName(), e);
+        }
+        leased = null;
+    }
+}
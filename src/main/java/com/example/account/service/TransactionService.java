@@ -1,26 +1,36 @@
 package com.example.account.service;
 
 
+import com.example.account.aop.OptimisticRetry;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
+import com.example.account.dto.FailedTransaction;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
+import com.example.account.type.BalanceMode;
+import com.example.account.type.ConcurrencyMode;
 import com.example.account.type.ErrorCode;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
+import java.util.stream.Collectors;
 
 import static com.example.account.type.TransactionResultType.*;
 import static com.example.account.type.TransactionType.*;
@@ -32,6 +42,18 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;   // 인젝션
     private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    private final TransactionCache transactionCache;   // 거래 조회 캐시 (저장 시점에 채움)
+    private final TransactionIdGenerator transactionIdGenerator;   // 시간순 거래 id 발급
+    private final LedgerService ledgerService;   // LEDGER 모드 잔액 (원장 + 메모리)
+    private final HotAccountService hotAccountService;   // 잔액이 분할된 핫 계좌 (COLUMN 모드)
+    private final AccountSummaryCache accountSummaryCache;   // 사용자별 계좌 목록 캐시 (잔액이 바뀌면 지움)
+    private final AccountOwnershipCache accountOwnershipCache;   // 소유주, 해지 여부 사전 확인
+
+    @Value("${account.transaction.concurrency-mode:REDIS_LOCK}")
+    private ConcurrencyMode concurrencyMode = ConcurrencyMode.REDIS_LOCK;   // 잔액 변경 시 동시성 제어 방식
+
+    @Value("${account.balance.mode:COLUMN}")
+    private BalanceMode balanceMode = BalanceMode.COLUMN;   // 잔액 관리 방식 (컬럼 갱신, 원장)
 
     /**
      * 사용자 없는 경우, 계좌가 없는 경우,
@@ -39,22 +61,82 @@ public class TransactionService {
      * 계좌가 이미 해지 상태인 경우, 거래금액이 잔액보다 큰 경우,
      * 거래금액이 너무 작거나 큰 경우 실패 응답  : 이미 Request 에서 Validation 완료.
      */
+    @Timed(value = "account.service", histogram = true)
+    @OptimisticRetry   // OPTIMISTIC 모드에서 버전 충돌 시 재시도
     @Transactional
     public TransactionDto useBalance(Long userId, String accountNumber,
                                      Long amount) {
+        accountOwnershipCache.validate(userId, accountNumber);   // 소유주가 다르거나 해지된 계좌면 DB 조회 없이 실패
+
+        if (balanceMode == BalanceMode.COLUMN && accountRepository.useBalanceIfAvailable(
+                accountNumber, userId, amount, LocalDateTime.now()) == 1) {   // 빠른 경로: 조건부 UPDATE 한번으로 검증 + 차감
+            Account account = accountRepository.findByAccountNumber(accountNumber)   // 차감된 잔액으로 거래 기록
+                    .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+            return TransactionDto.fromEntity(saveAndGetTransaction(USE, S, account, amount));
+        }
+
+        // 차감에 실패한 경우에만 상세 검증으로 정확한 에러코드를 찾음
         AccountUser user = accountUserRepository.findById(userId)  // 사용자 조회해서 없는지 확인
                 .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
-        Account account = accountRepository.findByAccountNumber(accountNumber)  // 계좌 조회해서 없는지 확인
+        Account account = findAccountForBalanceChange(accountNumber)  // 계좌 조회해서 없는지 확인
                         .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
         validateUseBalance(user, account, amount);
 
-        account.useBalance(amount);   // account의 잔액을 바꿔주는 것을 account 엔티티 안에서 직접 처리(더 안전한 객체 구조.)
+        applyUseBalance(account, amount);   // account의 잔액을 바꿔주는 것을 account 엔티티 안에서 직접 처리(더 안전한 객체 구조.)
             // Transaction 어노테이션으로 인해, 아래 return에서 오류가 생긴 경우 잔액이 업데이트 되지 않고 rollback이 됨. 성공할 경우 반영
 
         return TransactionDto.fromEntity(saveAndGetTransaction(USE, S, account, amount));   // USE로 성공건 저장
     }
 
+    /**
+     * 같은 계좌에 대한 여러 건의 잔액 사용을 요청 순서대로 하나의 트랜잭션에서 처리
+     * 실패한 건은 saveFailedUseTransaction 과 같이 실패 거래로 기록하고 다음 건을 계속 처리
+     */
+    @Timed(value = "account.service", histogram = true)
+    @OptimisticRetry   // OPTIMISTIC 모드에서 버전 충돌 시 묶음 전체를 재시도
+    @Transactional
+    public List<UseBalanceBatch.ItemResult> useBalanceGroup(
+            String accountNumber, List<UseBalance.Request> requests) {
+        Optional<Account> optionalAccount = findAccountForBalanceChange(accountNumber);
+        if (!optionalAccount.isPresent()) {   // 계좌를 못 찾았다면 거래로 남기는 것을 포기.
+            return requests.stream()
+                    .map(request -> UseBalanceBatch.ItemResult.fail(ErrorCode.ACCOUNT_NOT_FOUND))
+                    .collect(Collectors.toList());
+        }
+        Account account = optionalAccount.get();
+
+        Map<Long, Optional<AccountUser>> users = new HashMap<>();   // 같은 사용자는 한번만 조회
+        List<UseBalanceBatch.ItemResult> results = new ArrayList<>();
+        for (UseBalance.Request request : requests) {
+            try {
+                AccountUser user = users.computeIfAbsent(request.getUserId(),
+                                accountUserRepository::findById)
+                        .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+
+                validateUseBalance(user, account, request.getAmount());
+                applyUseBalance(account, request.getAmount());   // 앞 건에서 차감된 잔액 기준으로 검증, 차감
+
+                results.add(UseBalanceBatch.ItemResult.success(TransactionDto.fromEntity(
+                        saveAndGetTransaction(USE, S, account, request.getAmount()))));
+            } catch (AccountException e) {
+                saveAndGetTransaction(USE, F, account, request.getAmount());    // 실패건 저장
+                results.add(UseBalanceBatch.ItemResult.fail(e.getErrorCode()));
+            }
+        }
+        return results;
+    }
+
+    private Optional<Account> findAccountForBalanceChange(String accountNumber) {
+        if (concurrencyMode == ConcurrencyMode.PESSIMISTIC
+                && balanceMode == BalanceMode.COLUMN
+                && !hotAccountService.isHot(accountNumber)) {   // 레디스 락 대신 DB 행 락으로 잔액 변경을 직렬화 (LEDGER, 분할 계좌는 account 행을 바꾸지 않음)
+            return accountRepository.findByAccountNumberForUpdate(accountNumber);
+        }
+        return accountRepository.findByAccountNumber(accountNumber);
+        // REDIS_LOCK: 이미 계좌 락을 잡은 상태, OPTIMISTIC: 커밋 시 @Version 으로 충돌 감지
+    }
+
     private void validateUseBalance(AccountUser user, Account account, Long amount) {
         if (!Objects.equals(user.getId(), account.getAccountUser().getId())) {
             throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);  // 사용자 아이디와 계좌 소유주가 다를 경우
@@ -62,11 +144,45 @@ public class TransactionService {
         if (account.getAccountStatus() != AccountStatus.IN_USE) {  // 계좌가 이미 해지상태인 경우
             throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
         }
-        if (account.getBalance() < amount) {
+        if (balanceOf(account) < amount) {
             throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);  // 거래금액이 잔액보다 큼
         }
     }
 
+    private void applyUseBalance(Account account, Long amount) {
+        if (balanceMode == BalanceMode.LEDGER) {
+            ledgerService.use(account, amount);   // account 행 대신 원장에 추가
+            return;
+        }
+        if (hotAccountService.isHot(account)) {
+            hotAccountService.debit(account, amount);   // account 행 대신 슬롯에서 차감
+            return;
+        }
+        account.useBalance(amount);
+    }
+
+    private void applyCancelBalance(Account account, Long amount) {
+        if (balanceMode == BalanceMode.LEDGER) {
+            ledgerService.cancel(account, amount);
+            return;
+        }
+        if (hotAccountService.isHot(account)) {
+            hotAccountService.credit(account, amount);   // 임의의 슬롯 하나에 더함
+            return;
+        }
+        account.cancelBalance(amount);
+    }
+
+    private long balanceOf(Account account) {
+        if (balanceMode == BalanceMode.LEDGER) {
+            return ledgerService.currentBalance(account);
+        }
+        return hotAccountService.isHot(account)
+                ? hotAccountService.balanceOf(account)
+                : account.getBalance();
+    }
+
+    @Timed(value = "account.service", histogram = true)
     @Transactional
     public void saveFailedUseTransaction(String accountNumber, Long amount) {  // 잔액 사용 실패 트랜잭션 저장
         Account account = accountRepository.findByAccountNumber(accountNumber)
@@ -75,24 +191,77 @@ public class TransactionService {
         saveAndGetTransaction(USE, F, account, amount);    // 실패건 저장
     }
 
+    /**
+     * FailedTransactionRecorder 가 모아둔 실패 거래를 한 트랜잭션으로 저장
+     * 같은 계좌는 한번만 조회하고, 계좌를 못 찾은 건은 기록을 포기
+     */
+    @Timed(value = "account.service", histogram = true)
+    @Transactional
+    public void saveFailedTransactions(List<FailedTransaction> failedTransactions) {
+        Map<String, Optional<Account>> accounts = new HashMap<>();
+        for (FailedTransaction failedTransaction : failedTransactions) {
+            Optional<Account> account = accounts.computeIfAbsent(
+                    failedTransaction.getAccountNumber(), accountRepository::findByAccountNumber);
+            if (!account.isPresent()) {
+                log.warn("Skip failed transaction record. Account not found : {}",
+                        failedTransaction.getAccountNumber());
+                continue;
+            }
+
+            saveAndGetTransaction(failedTransaction.getTransactionType(), F, account.get(),
+                    failedTransaction.getAmount(), failedTransaction.getFailedAt());    // 실패건 저장
+        }
+    }
+
     private Transaction saveAndGetTransaction(   // 저장된 트랜잭션 엔티티를 응답해주는 공통 메소드
             TransactionType transactionType,
             TransactionResultType transactionResultType,
             Account account,
             Long amount) {
-        return transactionRepository.save(  // account를 기반으로 신규 transaction을 하나 저장.
+        return saveAndGetTransaction(transactionType, transactionResultType,
+                account, amount, LocalDateTime.now());
+    }
+
+    private Transaction saveAndGetTransaction(
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            Account account,
+            Long amount,
+            LocalDateTime transactedAt) {
+        Transaction transaction = transactionRepository.save(  // account를 기반으로 신규 transaction을 하나 저장.
                 Transaction.builder()
                         .transactionType(transactionType)
                         .transactionResultType(transactionResultType)
                         .account(account)
                         .amount(amount)
-                        .balanceSnapshot(account.getBalance())
-                        .transactionId(UUID.randomUUID().toString().replace("-", ""))
-                        .transactedAt(LocalDateTime.now())
+                        .balanceSnapshot(balanceOf(account))
+                        .transactionId(transactionIdGenerator.nextId())
+                        .transactedAt(transactedAt)
                         .build()
         );
+        cacheAfterCommit(TransactionDto.fromEntity(transaction));   // 저장 직후 조회가 DB 까지 가지 않도록
+        if (transactionResultType == S) {   // 성공한 거래만 잔액이 바뀜
+            accountSummaryCache.evictAfterCommit(account.getAccountUser().getId());
+        }
+        return transaction;
     }
 
+    private void cacheAfterCommit(TransactionDto transactionDto) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionCache.put(transactionDto);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {   // 롤백된 거래가 캐시에 남지 않도록 커밋 후에 넣음
+                transactionCache.put(transactionDto);
+            }
+        });
+    }
+
+    @Timed(value = "account.service", histogram = true)
+    @OptimisticRetry   // OPTIMISTIC 모드에서 버전 충돌 시 재시도
     @Transactional
     public TransactionDto cancelBalance(
             String transactionId,
@@ -101,12 +270,12 @@ public class TransactionService {
     ) {
         Transaction transaction = transactionRepository.findByTransactionId(transactionId)   // 트랜잭션 찾기
                 .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));  // 해당 거래가 없습니다.
-        Account account = accountRepository.findByAccountNumber(accountNumber)  // 계좌 찾기
+        Account account = findAccountForBalanceChange(accountNumber)  // 계좌 찾기
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));  // 계좌가 없습니다.
 
         validateCancelBalance(transaction,account, amount);
 
-        account.cancelBalance(amount);  // account의 잔액을 바꿔주는 것을 account 엔티티 안에서 직접 처리(더 안전한 객체 구조.)
+        applyCancelBalance(account, amount);  // account의 잔액을 바꿔주는 것을 account 엔티티 안에서 직접 처리(더 안전한 객체 구조.)
         // Transaction 어노테이션으로 인해, 아래 return에서 오류가 생긴 경우 잔액이 업데이트 되지 않고 rollback이 됨. 성공할 경우 반영
 
         return TransactionDto.fromEntity(
@@ -125,6 +294,7 @@ public class TransactionService {
         }
     }
 
+    @Timed(value = "account.service", histogram = true)
     @Transactional
     public void saveFailedCancelTransaction(String accountNumber, Long amount) {  // 잔액 사용 취소 실패 트랜잭션 저장
         Account account = accountRepository.findByAccountNumber(accountNumber)
@@ -133,10 +303,16 @@ public class TransactionService {
         saveAndGetTransaction(CANCEL, F, account, amount);    // 실패건 저장
     }
 
+    @Timed(value = "account.service", histogram = true)
     public TransactionDto queryTransaction(String transactionId) {
-        return TransactionDto.fromEntity(
-                transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND))
-        );
+        return transactionCache.get(transactionId)   // 캐시에 있으면 DB 조회 없이 응답
+                .orElseGet(() -> {
+                    TransactionDto transactionDto = TransactionDto.fromEntity(
+                            transactionRepository.findByTransactionId(transactionId)
+                            .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND))
+                    );
+                    transactionCache.put(transactionDto);
+                    return transactionDto;
+                });
     }
 }
@@ -0,0 +1,15 @@
+package com.example.account.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "account.transaction-id.type", havingValue = "UUID")
+public class UuidTransactionIdGenerator implements TransactionIdGenerator {   // 기존 방식 (랜덤 32자, 비교용)
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
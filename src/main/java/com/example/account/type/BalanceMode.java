@@ -0,0 +1,6 @@
+package com.example.account.type;
+
+public enum BalanceMode {   // 잔액 관리 방식
+    COLUMN,  // account.balance 컬럼을 직접 갱신 (기본)
+    LEDGER  // 계좌별 원장(저널)에 추가만 하고 잔액은 메모리 + 주기적 스냅샷으로 관리
+}
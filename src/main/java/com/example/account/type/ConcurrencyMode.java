@@ -0,0 +1,7 @@
+package com.example.account.type;
+
+public enum ConcurrencyMode {   // 잔액 변경 시 동시성 제어 방식
+    REDIS_LOCK,  // 레디스 분산락 (기본)
+    PESSIMISTIC,  // DB 비관적 락 (SELECT ... FOR UPDATE)
+    OPTIMISTIC  // DB 낙관적 락 (@Version) + 충돌 시 재시도
+}
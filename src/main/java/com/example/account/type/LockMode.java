@@ -0,0 +1,7 @@
+package com.example.account.type;
+
+public enum LockMode {   // 계좌 락 취득 방식
+    NON_FAIR,  // 레디스 pub/sub 으로 대기, 순서 보장 X (기본)
+    FAIR,  // 먼저 기다린 요청이 먼저 락을 가져감
+    SPIN  // pub/sub 구독 없이 짧은 간격으로 재시도 (락을 짧게 잡는 엔드포인트용)
+}
@@ -0,0 +1,7 @@
+package com.example.account.type;
+
+public enum QueryPlanCheckMode {   // 시작 시 쿼리 실행계획 점검 결과 처리 방식
+    OFF,  // 점검 안함
+    WARN,  // 주요 쿼리가 풀스캔이면 경고 로그
+    FAIL  // 주요 쿼리가 풀스캔이면 애플리케이션 시작 실패
+}
@@ -0,0 +1,6 @@
+package com.example.account.type;
+
+public enum TracingExporter {   // 추적 데이터(span) 내보내는 곳
+    OTLP,  // 로컬 OpenTelemetry 컬렉터로 전송 (OTLP/HTTP)
+    FILE  // JSON 한 줄에 span 하나씩 파일에 기록 (오프라인 분석용)
+}
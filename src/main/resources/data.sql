@@ -3,4 +3,10 @@ values (1, 'Pororo', now(), now());
 insert into account_user(id, name, created_at, updated_at)
 values (2, 'Lupi', now(), now());
 insert into account_user(id, name, created_at, updated_at)
-values (3, 'Eddie', now(), now());
\ No newline at end of file
+values (3, 'Eddie', now(), now());
+-- 직접 id 를 넣은 사용자와 겹치지 않도록 시퀀스 시작값을 옮김
+alter sequence account_user_seq restart with 1000;
+-- 보유 계좌 수(account_count)를 실제 사용 중인 계좌 수로 맞춤 (위에서 계좌를 직접 넣어도 계좌 생성 제한이 지켜지도록)
+update account_user set account_count = (
+    select count(*) from account a
+    where a.account_user_id = account_user.id and a.account_status = 'IN_USE');
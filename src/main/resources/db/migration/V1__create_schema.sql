@@ -0,0 +1,94 @@
+-- perf 프로필 스키마 (기본 프로필은 엔티티로 ddl-auto 생성)
+-- 엔티티를 바꾸면 다음 버전 파일(V2__...)을 추가 (ddl-auto: validate 로 시작 시 일치 여부 확인)
+
+-- id 는 pooled-lo 로 한번에 50개씩 발급
+create sequence account_user_seq start with 1 increment by 50;
+create sequence account_seq start with 1 increment by 50;
+create sequence transaction_seq start with 1 increment by 50;
+create sequence balance_journal_seq start with 1 increment by 50;
+create sequence balance_snapshot_seq start with 1 increment by 50;
+create sequence balance_slot_seq start with 1 increment by 50;
+
+create table account_user (
+    id bigint not null,
+    created_at timestamp,
+    updated_at timestamp,
+    name varchar(255),
+    account_count integer default 0 not null,   -- 보유 계좌 수 (최대 10)
+    primary key (id)
+);
+
+create table account (
+    id bigint not null,
+    created_at timestamp,
+    updated_at timestamp,
+    account_user_id bigint,
+    account_number varchar(255),
+    account_status varchar(255),
+    balance bigint,
+    balance_slots integer,
+    registered_at timestamp,
+    un_registered_at timestamp,
+    version bigint,
+    primary key (id),
+    constraint fk_account_account_user foreign key (account_user_id) references account_user (id)
+);
+create unique index ux_account_account_number on account (account_number);   -- 요청마다 계좌번호로 조회
+create index ix_account_account_user on account (account_user_id);   -- 사용자별 계좌 목록
+
+create table transaction (
+    id bigint not null,
+    created_at timestamp,
+    updated_at timestamp,
+    transaction_type varchar(255),
+    transaction_result_type varchar(255),
+    account_id bigint,
+    amount bigint,
+    balance_snapshot bigint,
+    transaction_id varchar(255),
+    transacted_at timestamp,
+    primary key (id),
+    constraint fk_transaction_account foreign key (account_id) references account (id)
+);
+create unique index ux_transaction_transaction_id on transaction (transaction_id);   -- 거래 조회/취소
+create index ix_transaction_account_transacted_at on transaction (account_id, transacted_at, id);   -- 계좌별 거래 내역 (키셋 페이지네이션)
+
+create table balance_journal (
+    id bigint not null,
+    created_at timestamp,
+    updated_at timestamp,
+    account_id bigint,
+    sequence bigint,
+    transaction_type varchar(255),
+    delta bigint,
+    balance bigint,
+    journaled_at timestamp,
+    primary key (id),
+    constraint fk_balance_journal_account foreign key (account_id) references account (id)
+);
+create unique index ux_balance_journal_account_sequence on balance_journal (account_id, sequence);
+
+create table balance_snapshot (
+    id bigint not null,
+    created_at timestamp,
+    updated_at timestamp,
+    account_id bigint,
+    sequence bigint,
+    balance bigint,
+    snapshot_at timestamp,
+    primary key (id),
+    constraint fk_balance_snapshot_account foreign key (account_id) references account (id)
+);
+create unique index ux_balance_snapshot_account_sequence on balance_snapshot (account_id, sequence);
+
+create table balance_slot (
+    id bigint not null,
+    created_at timestamp,
+    updated_at timestamp,
+    account_id bigint,
+    slot_index integer,
+    balance bigint,
+    primary key (id),
+    constraint fk_balance_slot_account foreign key (account_id) references account (id)
+);
+create unique index ux_balance_slot_account_slot_index on balance_slot (account_id, slot_index);
@@ -0,0 +1,6 @@
+-- 보유 계좌 수(account_count)를 사용 중인 계좌 수로 다시 계산
+-- 기본값 0 으로 남아있는 사용자(bulkLoad 이외의 방법으로 계좌를 넣은 경우)가 계좌 생성 제한(10개)을 넘지 않도록
+-- 해지된 계좌는 세지 않음 (AccountService 가 해지 시 감소시키는 것과 같은 기준)
+update account_user set account_count = (
+    select count(*) from account a
+    where a.account_user_id = account_user.id and a.account_status = 'IN_USE');
@@ -0,0 +1,50 @@
+package com.example.account.benchmark;
+
+import com.example.account.AccountApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * 부하 측정용 애플리케이션 (임베디드 레디스 포함 전체 컨텍스트, 임의 포트)
+ * 설정마다 새로 띄우고 측정이 끝나면 종료 -> 하나의 @ParameterizedTest 에서 설정만 바꿔가며 같은 시나리오를 실행
+ */
+final class BenchmarkApplication implements AutoCloseable {
+    private final ConfigurableApplicationContext context;
+    private final TestRestTemplate restTemplate;
+
+    private BenchmarkApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.restTemplate = new TestRestTemplate(new RestTemplateBuilder()
+                .rootUri("http://localhost:" + port()));
+    }
+
+    static BenchmarkApplication start(String... properties) {   // key=value (application.yml 보다 우선)
+        String[] args = Stream.concat(Stream.of("server.port=0"), Arrays.stream(properties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        return new BenchmarkApplication(new SpringApplicationBuilder(AccountApplication.class).run(args));
+    }
+
+    int port() {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    TestRestTemplate restTemplate() {
+        return restTemplate;
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {   // 다음 설정이 같은 레디스 포트를 쓸 수 있도록 임베디드 레디스까지 종료
+        context.close();
+    }
+}
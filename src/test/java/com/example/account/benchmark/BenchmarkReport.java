@@ -0,0 +1,65 @@
+package com.example.account.benchmark;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+/**
+ * 부하 측정 결과 한 건 (설정 하나의 측정값)
+ * 로그로 남기고 build/results/benchmark/<측정 이름>.csv 에 한 줄씩 추가 (설정, 커밋 간 비교용)
+ * 메소드 단위 처리량은 JMH(src/jmh, ./gradlew jmh) 로 측정하고, 여기는 전체 컨텍스트에 동시 요청을 보내는 측정만 기록
+ */
+final class BenchmarkReport {
+    private static final Logger log = LoggerFactory.getLogger(BenchmarkReport.class);
+    private static final Path RESULTS_DIR = Paths.get("build", "results", "benchmark");
+
+    private final String benchmark;
+    private final String setting;
+    private final Map<String, Object> values = new LinkedHashMap<>();   // 열 순서 유지
+
+    private BenchmarkReport(String benchmark, String setting) {
+        this.benchmark = benchmark;
+        this.setting = setting;
+    }
+
+    static BenchmarkReport of(String benchmark, String setting) {
+        return new BenchmarkReport(benchmark, setting);
+    }
+
+    static String perSecond(long count, long elapsedMillis) {
+        return String.format("%.1f", count * 1000.0 / Math.max(elapsedMillis, 1));
+    }
+
+    BenchmarkReport add(String name, Object value) {
+        values.put(name, value);
+        return this;
+    }
+
+    void record() {
+        log.info("[{}] {} {}", benchmark, setting, values);
+        Path file = RESULTS_DIR.resolve(benchmark + ".csv");
+        StringBuilder lines = new StringBuilder();
+        if (Files.notExists(file)) {   // 처음 기록할 때만 헤더
+            lines.append("recordedAt,setting,").append(String.join(",", values.keySet())).append('\n');
+        }
+        lines.append(LocalDateTime.now()).append(',').append(setting);
+        values.values().forEach(value -> lines.append(',').append(value));
+        lines.append('\n');
+        try {
+            Files.createDirectories(RESULTS_DIR);
+            Files.writeString(file, lines, CREATE, APPEND);
+        } catch (IOException e) {   // 기록에 실패해도 측정 결과는 로그에 남아있음
+            log.warn("Failed to write benchmark result. {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.account.benchmark;
+
+import com.example.account.dto.CreateAccount;
+import com.example.account.dto.UseBalance;
+import com.example.account.type.ConcurrencyMode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 한 계좌에 잔액 사용 요청이 몰릴 때 동시성 제어 방식(account.transaction.concurrency-mode) 별 처리량 비교
+ * ./gradlew benchmark, 결과: build/results/benchmark/concurrency-mode.csv
+ */
+@Tag("benchmark")
+class ConcurrencyModeBenchmarkTest {
+    private static final int THREAD_COUNT = 16;
+    private static final int REQUESTS_PER_THREAD = 50;
+    private static final long INITIAL_BALANCE = 1_000_000_000L;
+    private static final long USE_AMOUNT = 10L;
+
+    @ParameterizedTest
+    @EnumSource(ConcurrencyMode.class)
+    @SuppressWarnings("unchecked")
+    void useBalanceOnContendedAccount(ConcurrencyMode mode) throws InterruptedException {
+        try (BenchmarkApplication application = BenchmarkApplication.start(
+                "account.transaction.concurrency-mode=" + mode)) {
+            TestRestTemplate restTemplate = application.restTemplate();
+
+            //given
+            String accountNumber = restTemplate.postForObject("/account",
+                    new CreateAccount.Request(1L, INITIAL_BALANCE),
+                    CreateAccount.Response.class).getAccountNumber();
+            AtomicInteger successCount = new AtomicInteger();
+            AtomicInteger failCount = new AtomicInteger();
+            ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+            //when
+            long startedAt = System.nanoTime();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                executorService.submit(() -> {
+                    for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                        Map<String, Object> response = restTemplate.postForObject("/transaction/use",
+                                new UseBalance.Request(1L, accountNumber, USE_AMOUNT), Map.class);
+                        if ("S".equals(response.get("transactionResult"))) {
+                            successCount.incrementAndGet();
+                        } else {
+                            failCount.incrementAndGet();   // 락 취득 실패, 재시도 초과 등
+                        }
+                    }
+                });
+            }
+            executorService.shutdown();
+            assertTrue(executorService.awaitTermination(10, TimeUnit.MINUTES));
+            long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000L;
+
+            //then
+            int requestCount = THREAD_COUNT * REQUESTS_PER_THREAD;
+            BenchmarkReport.of("concurrency-mode", mode.name())
+                    .add("requests", requestCount)
+                    .add("threads", THREAD_COUNT)
+                    .add("elapsedMs", elapsedMillis)
+                    .add("requestsPerSec", BenchmarkReport.perSecond(requestCount, elapsedMillis))
+                    .add("success", successCount.get())
+                    .add("fail", failCount.get())
+                    .record();
+
+            List<Map<String, Object>> accounts =
+                    restTemplate.getForObject("/account?user_id=1", List.class);
+            long balance = accounts.stream()
+                    .filter(account -> accountNumber.equals(account.get("accountNumber")))
+                    .mapToLong(account -> ((Number) account.get("balance")).longValue())
+                    .findFirst().orElseThrow(IllegalStateException::new);
+            assertEquals(INITIAL_BALANCE - USE_AMOUNT * successCount.get(), balance);   // 성공한 만큼만 정확히 차감
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.AccountUser;
+import com.example.account.dto.CreateAccount;
+import com.example.account.repository.AccountUserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 동시 계좌 생성(POST /account) 부하 측정
+ * ./gradlew benchmark 로 실행, 결과: build/results/benchmark/create-account.csv
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext   // 다른 부하 측정과 임베디드 레디스 포트가 겹치지 않도록 끝나면 컨텍스트 종료
+class CreateAccountBenchmarkTest {
+    private static final int USER_COUNT = 100;
+    private static final int ACCOUNTS_PER_USER = 10;   // 사용자 당 최대 계좌 개수
+    private static final int THREAD_COUNT = 16;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Test
+    void createAccountConcurrently() throws InterruptedException {
+        //given
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            userIds.add(accountUserRepository.save(AccountUser.builder()
+                    .name("bench-" + i).build()).getId());
+        }
+        Set<String> accountNumbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        //when
+        long startedAt = System.nanoTime();
+        for (Long userId : userIds) {
+            for (int i = 0; i < ACCOUNTS_PER_USER; i++) {
+                executorService.submit(() -> {
+                    CreateAccount.Response response = restTemplate.postForObject("/account",
+                            new CreateAccount.Request(userId, 1000L),
+                            CreateAccount.Response.class);
+                    accountNumbers.add(response.getAccountNumber());
+                });
+            }
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(5, TimeUnit.MINUTES));
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000L;
+
+        //then
+        int requestCount = USER_COUNT * ACCOUNTS_PER_USER;
+        BenchmarkReport.of("create-account", "default")
+                .add("requests", requestCount)
+                .add("threads", THREAD_COUNT)
+                .add("elapsedMs", elapsedMillis)
+                .add("requestsPerSec", BenchmarkReport.perSecond(requestCount, elapsedMillis))
+                .record();
+        assertEquals(requestCount, accountNumbers.size());   // 중복된 계좌번호 없음
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.account.benchmark;
+
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.CreateAccount;
+import com.example.account.dto.SplitAccount;
+import com.example.account.dto.UseBalance;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 한 계좌에 취소(입금) 요청이 몰릴 때 잔액 분할 슬롯 수 별 처리량 비교
+ * 슬롯 1개는 분할하지 않은 기존 방식 (계좌 락 + account 행 하나)
+ * 슬롯 수마다 새 계좌를 만들어서 측정하므로 컨텍스트는 하나 (./gradlew benchmark, 결과: build/results/benchmark/hot-account.csv)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext   // 다른 부하 측정과 임베디드 레디스 포트가 겹치지 않도록 끝나면 컨텍스트 종료
+class HotAccountBenchmarkTest {
+    private static final int THREAD_COUNT = 16;
+    private static final int REQUESTS_PER_THREAD = 50;
+    private static final long INITIAL_BALANCE = 1_000_000L;
+    private static final long AMOUNT = 10L;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4, 16})
+    @SuppressWarnings("unchecked")
+    void cancelBalanceOnHotAccount(int slots) throws InterruptedException {
+        //given
+        String accountNumber = restTemplate.postForObject("/account",
+                new CreateAccount.Request(1L, INITIAL_BALANCE),
+                CreateAccount.Response.class).getAccountNumber();
+        String transactionId = (String) restTemplate.postForObject("/transaction/use",   // 취소할 거래 (같은 거래를 반복 취소)
+                new UseBalance.Request(1L, accountNumber, AMOUNT), Map.class).get("transactionId");
+        if (slots > 1) {
+            restTemplate.postForObject("/account/split",
+                    new SplitAccount.Request(1L, accountNumber, slots), Map.class);
+        }
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failCount = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        //when
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executorService.submit(() -> {
+                for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                    Map<String, Object> response = restTemplate.postForObject("/transaction/cancel",
+                            new CancelBalance.Request(transactionId, accountNumber, AMOUNT), Map.class);
+                    if ("S".equals(response.get("transactionResult"))) {
+                        successCount.incrementAndGet();
+                    } else {
+                        failCount.incrementAndGet();   // 락 취득 실패 등
+                    }
+                }
+            });
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.MINUTES));
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000L;
+
+        //then
+        int requestCount = THREAD_COUNT * REQUESTS_PER_THREAD;
+        BenchmarkReport.of("hot-account", "slots=" + slots)
+                .add("requests", requestCount)
+                .add("threads", THREAD_COUNT)
+                .add("elapsedMs", elapsedMillis)
+                .add("requestsPerSec", BenchmarkReport.perSecond(requestCount, elapsedMillis))
+                .add("success", successCount.get())
+                .add("fail", failCount.get())
+                .record();
+
+        List<Map<String, Object>> accounts =
+                restTemplate.getForObject("/account?user_id=1", List.class);
+        long balance = accounts.stream()
+                .filter(account -> accountNumber.equals(account.get("accountNumber")))
+                .mapToLong(account -> ((Number) account.get("balance")).longValue())
+                .findFirst().orElseThrow(IllegalStateException::new);
+        assertEquals(INITIAL_BALANCE - AMOUNT + AMOUNT * successCount.get(), balance);   // 슬롯 합 = 성공한 만큼만 입금
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.AccountUser;
+import com.example.account.dto.UseBalance;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.service.AccountService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 한 계좌에 동시 요청이 몰릴 때 서블릿(/transaction/use) 과 논블로킹(/reactive/transaction/use) 비교
+ * 처리량과 함께 동시 연결 하나 당 서버 스레드, 힙 사용량 증가를 기록 (./gradlew benchmark, 결과: build/results/benchmark/reactive-api.csv)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "account.reactive.lock-wait-ms=1000")   // 서블릿 경로(@AccountLock 1초)와 같은 대기시간
+@DirtiesContext   // 다른 부하 측정과 임베디드 레디스 포트가 겹치지 않도록 끝나면 컨텍스트 종료
+class ReactiveApiBenchmarkTest {
+    private static final int CONNECTION_COUNT = 1000;
+    private static final long INITIAL_BALANCE = 1_000_000_000L;
+    private static final long USE_AMOUNT = 10L;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void servletUseBalance() throws Exception {
+        run("SERVLET", "/transaction/use");
+    }
+
+    @Test
+    void reactiveUseBalance() throws Exception {
+        run("REACTIVE", "/reactive/transaction/use");
+    }
+
+    private void run(String stack, String path) throws Exception {
+        //given
+        Long userId = accountUserRepository.save(AccountUser.builder()
+                .name("bench-" + stack).build()).getId();
+        String accountNumber = accountService.createAccount(userId, INITIAL_BALANCE).getAccountNumber();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(
+                        new UseBalance.Request(userId, accountNumber, USE_AMOUNT))))
+                .build();
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failCount = new AtomicInteger();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        int baseThreads = threads.getThreadCount();
+        long baseHeap = memory.getHeapMemoryUsage().getUsed();
+        threads.resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong(baseHeap);
+        ExecutorService sampler = Executors.newSingleThreadExecutor();
+        sampler.submit(() -> {   // 부하 중 힙 사용량 최대값
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                Thread.sleep(10);
+            }
+            return null;
+        });
+
+        //when
+        long startedAt = System.nanoTime();
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < CONNECTION_COUNT; i++) {
+            clients.submit(() -> {
+                String body = httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+                if (body.contains("\"transactionResult\":\"S\"")) {
+                    successCount.incrementAndGet();
+                } else {
+                    failCount.incrementAndGet();   // 락 대기시간 초과 등
+                }
+                return null;
+            });
+        }
+        clients.shutdown();
+        assertTrue(clients.awaitTermination(10, TimeUnit.MINUTES));
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000L;
+        sampler.shutdownNow();
+
+        //then
+        int serverThreads = threads.getPeakThreadCount() - baseThreads;   // 클라이언트는 가상 스레드라 거의 포함되지 않음
+        long heapBytes = peakHeap.get() - baseHeap;
+        BenchmarkReport.of("reactive-api", stack)
+                .add("path", path)
+                .add("connections", CONNECTION_COUNT)
+                .add("elapsedMs", elapsedMillis)
+                .add("requestsPerSec", BenchmarkReport.perSecond(CONNECTION_COUNT, elapsedMillis))
+                .add("success", successCount.get())
+                .add("fail", failCount.get())
+                .add("serverThreads", serverThreads)
+                .add("heapKbPerConnection", String.format("%.1f", heapBytes / 1024.0 / CONNECTION_COUNT))
+                .record();
+        assertEquals(CONNECTION_COUNT, successCount.get() + failCount.get());
+    }
+}
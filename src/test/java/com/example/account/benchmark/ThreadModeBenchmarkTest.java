@@ -0,0 +1,122 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.AccountUser;
+import com.example.account.dto.UseBalance;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.service.AccountService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 톰캣 요청 스레드 방식(account.threads.virtual: 플랫폼 스레드 풀, 가상 스레드) 별 동시 처리량 비교
+ * - 톰캣 스레드는 50개로 줄이고, 요청마다 20ms 의 막히는 처리(simulated-delay)를 넣어서 스레드 풀이 먼저 한계가 되도록 함
+ * - 클라이언트는 400개의 동시 요청을 가상 스레드 + java.net.http 로 보냄 (클라이언트 쪽 연결 수 제한 없음)
+ * - uncontended: 요청마다 다른 계좌, contended: 모든 요청이 한 계좌 (락 대기)
+ * ./gradlew benchmark, 결과: build/results/benchmark/thread-mode.csv
+ */
+@Tag("benchmark")
+class ThreadModeBenchmarkTest {
+    private static final int CLIENT_COUNT = 400;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final int ACCOUNTS_PER_USER = 10;   // 사용자 당 최대 계좌 개수
+    private static final long INITIAL_BALANCE = 1_000_000L;
+    private static final long USE_AMOUNT = 10L;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void useBalance(boolean virtual) throws Exception {
+        try (BenchmarkApplication application = BenchmarkApplication.start(
+                "server.tomcat.threads.max=50",   // 플랫폼 모드의 요청 스레드 한계
+                "account.transaction.simulated-delay-ms=20",   // 막히는 I/O 대신
+                "account.threads.virtual=" + virtual)) {
+            String mode = virtual ? "VIRTUAL" : "PLATFORM";
+            AccountUserRepository accountUserRepository = application.getBean(AccountUserRepository.class);
+            AccountService accountService = application.getBean(AccountService.class);
+
+            //given
+            List<Long> userIds = new ArrayList<>();
+            List<String> accountNumbers = new ArrayList<>();
+            for (int i = 0; i < CLIENT_COUNT; i++) {
+                if (i % ACCOUNTS_PER_USER == 0) {
+                    userIds.add(accountUserRepository.save(AccountUser.builder()
+                            .name("bench-" + i).build()).getId());
+                }
+                accountNumbers.add(accountService.createAccount(
+                        userIds.get(userIds.size() - 1), INITIAL_BALANCE).getAccountNumber());
+            }
+            Long hotUserId = accountUserRepository.save(AccountUser.builder()
+                    .name("bench-hot").build()).getId();
+            String hotAccountNumber = accountService.createAccount(hotUserId, INITIAL_BALANCE).getAccountNumber();
+
+            //when
+            //then
+            run(application, mode + " uncontended", client -> new UseBalance.Request(   // 락 경합 없음 -> 요청 스레드 수가 한계
+                    userIds.get(client / ACCOUNTS_PER_USER), accountNumbers.get(client), USE_AMOUNT));
+            run(application, mode + " contended", client ->   // 한 계좌에 몰림 -> 대부분 락 대기
+                    new UseBalance.Request(hotUserId, hotAccountNumber, USE_AMOUNT));
+        }
+    }
+
+    private void run(BenchmarkApplication application, String setting,
+                     IntFunction<UseBalance.Request> requestOf) throws Exception {
+        ObjectMapper objectMapper = application.getBean(ObjectMapper.class);
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failCount = new AtomicInteger();
+        ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < CLIENT_COUNT; i++) {
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + application.port() + "/transaction/use"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            objectMapper.writeValueAsBytes(requestOf.apply(i))))
+                    .build();
+            executorService.submit(() -> {
+                for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+                    String body = httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+                    if (body.contains("\"transactionResult\":\"S\"")) {
+                        successCount.incrementAndGet();
+                    } else {
+                        failCount.incrementAndGet();   // 락 취득 실패 등
+                    }
+                }
+                return null;
+            });
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.MINUTES));
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000L;
+
+        int requestCount = CLIENT_COUNT * REQUESTS_PER_CLIENT;
+        BenchmarkReport.of("thread-mode", setting)
+                .add("requests", requestCount)
+                .add("concurrentClients", CLIENT_COUNT)
+                .add("elapsedMs", elapsedMillis)
+                .add("requestsPerSec", BenchmarkReport.perSecond(requestCount, elapsedMillis))
+                .add("success", successCount.get())
+                .add("fail", failCount.get())
+                .record();
+        assertEquals(requestCount, successCount.get() + failCount.get());
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.account.benchmark;
+
+import com.example.account.dto.CreateAccount;
+import com.example.account.dto.FailedTransaction;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.service.TransactionService;
+import org.hibernate.MappingException;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.jpa.spi.IdentifierGeneratorStrategyProvider;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 거래(Transaction) INSERT 처리량 측정 - id 발급, JDBC 배치 설정 변경 전/후
+ * 1. 잔액 사용 일괄 처리 (성공/실패건이 한 트랜잭션에서 INSERT)
+ * 2. 실패 거래 저장 (FailedTransactionRecorder 처럼 모아서 saveFailedTransactions 로 저장)
+ * ./gradlew benchmark, 결과: build/results/benchmark/transaction-insert.csv
+ */
+@Tag("benchmark")
+class TransactionInsertBenchmarkTest {
+    private static final int ACCOUNT_COUNT = 10;   // 사용자 당 최대 계좌 개수
+    private static final int BATCH_ITEMS = 1000;
+    private static final int FAILED_RECORDS = 1000;
+    private static final int FAILED_BATCH_SIZE = 100;   // account.failed-transaction.batch-size 기본값
+
+    enum Setting {
+        BEFORE(   // 변경 전: 한 건마다 시퀀스 조회, JDBC 배치 없음
+                "spring.jpa.properties.hibernate.identifier_generator_strategy_provider="
+                        + LegacyIdGenerators.class.getName(),
+                "spring.jpa.properties.hibernate.jdbc.batch_size=0",
+                "spring.jpa.properties.hibernate.order_inserts=false",
+                "spring.jpa.properties.hibernate.order_updates=false"),
+        AFTER();   // application.yml 그대로 (pooled-lo 50, 배치 50)
+
+        private final String[] properties;
+
+        Setting(String... properties) {
+            this.properties = properties;
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Setting.class)
+    void insertTransactions(Setting setting) {
+        try (BenchmarkApplication application = BenchmarkApplication.start(setting.properties)) {
+            TestRestTemplate restTemplate = application.restTemplate();
+            TransactionService transactionService = application.getBean(TransactionService.class);
+            TransactionRepository transactionRepository = application.getBean(TransactionRepository.class);
+
+            //given
+            List<String> accountNumbers = new ArrayList<>();
+            for (int i = 0; i < ACCOUNT_COUNT; i++) {
+                accountNumbers.add(restTemplate.postForObject("/account",
+                        new CreateAccount.Request(1L, 5_000L),
+                        CreateAccount.Response.class).getAccountNumber());
+            }
+            List<UseBalance.Request> items = new ArrayList<>();
+            for (int i = 0; i < BATCH_ITEMS; i++) {   // 잔액 5000원에 100원씩 100건 -> 계좌 당 50건 성공, 50건 실패
+                items.add(new UseBalance.Request(1L, accountNumbers.get(i % ACCOUNT_COUNT), 100L));
+            }
+            List<FailedTransaction> failedTransactions = new ArrayList<>();
+            for (int i = 0; i < FAILED_RECORDS; i++) {
+                failedTransactions.add(FailedTransaction.builder()
+                        .transactionType(USE)
+                        .accountNumber(accountNumbers.get(i % ACCOUNT_COUNT))
+                        .amount(100L)
+                        .failedAt(LocalDateTime.now())
+                        .build());
+            }
+
+            //when
+            long before = transactionRepository.count();
+            long startedAt = System.nanoTime();
+            restTemplate.postForObject("/transaction/use/batch",
+                    new UseBalanceBatch.Request(items), UseBalanceBatch.Response.class);
+            long batchMillis = (System.nanoTime() - startedAt) / 1_000_000L;
+
+            startedAt = System.nanoTime();
+            for (int from = 0; from < FAILED_RECORDS; from += FAILED_BATCH_SIZE) {
+                transactionService.saveFailedTransactions(
+                        failedTransactions.subList(from, Math.min(from + FAILED_BATCH_SIZE, FAILED_RECORDS)));
+            }
+            long failedMillis = (System.nanoTime() - startedAt) / 1_000_000L;
+
+            //then
+            BenchmarkReport.of("transaction-insert", setting.name())
+                    .add("batchUseRows", BATCH_ITEMS)
+                    .add("batchUseMs", batchMillis)
+                    .add("batchUseInsertsPerSec", BenchmarkReport.perSecond(BATCH_ITEMS, batchMillis))
+                    .add("failedRecordRows", FAILED_RECORDS)
+                    .add("failedRecordMs", failedMillis)
+                    .add("failedRecordInsertsPerSec", BenchmarkReport.perSecond(FAILED_RECORDS, failedMillis))
+                    .record();
+            assertEquals(before + BATCH_ITEMS + FAILED_RECORDS, transactionRepository.count());
+        }
+    }
+
+    /**
+     * 변경 전 id 발급 (increment 1, optimizer 없음 -> INSERT 한 건마다 시퀀스 조회)
+     * 원래는 하나의 hibernate_sequence 를 같이 썼지만, data.sql 이 account_user_seq 를 쓰므로 엔티티 별 시퀀스 이름은 유지
+     */
+    public static class LegacyIdGenerators implements IdentifierGeneratorStrategyProvider {
+        @Override
+        public Map<String, Class<?>> getStrategies() {   // BaseEntity 의 SequenceStyleGenerator 를 대신함
+            return Map.of(SequenceStyleGenerator.class.getName(), LegacySequenceGenerator.class);
+        }
+    }
+
+    public static class LegacySequenceGenerator extends SequenceStyleGenerator {
+        @Override
+        public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+            params.setProperty(INCREMENT_PARAM, "1");
+            params.setProperty(OPT_PARAM, "none");
+            super.configure(type, params, serviceRegistry);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.account.config;
+
+import com.example.account.type.QueryPlanCheckMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest   // 레디스 없이 JPA 관련 빈만 띄움
+@Import(QueryPlanAdvisor.class)
+@TestPropertySource(properties = "account.query-plan-check.mode=FAIL")   // checkOnStartup 을 직접 호출해서 확인
+class QueryPlanAdvisorTest {
+    @Autowired
+    private QueryPlanAdvisor queryPlanAdvisor;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void passCheckInFailMode() {   // 설정된 주요 쿼리가 모두 인덱스를 타면 시작 점검 통과
+        //given
+        //when
+        //then
+        assertDoesNotThrow(() -> queryPlanAdvisor.checkOnStartup());
+    }
+
+    @Test
+    void failWhenHotQueryCannotBeChecked() {   // 점검할 수 없는 주요 쿼리(@Query, 이름 오타)는 통과로 보지 않음
+        //given
+        QueryPlanAdvisor advisor = new QueryPlanAdvisor(applicationContext, entityManagerFactory, dataSource,
+                QueryPlanCheckMode.FAIL, Set.of("AccountRepository.findByAccountNumber",
+                "AccountRepository.findByAccountNumberForUpdate", "AccountRepository.findByAcountNumber"));
+
+        //when
+        IllegalStateException exception = assertThrows(IllegalStateException.class, advisor::checkOnStartup);
+
+        //then
+        assertTrue(exception.getMessage().contains("AccountRepository.findByAccountNumberForUpdate"));
+        assertTrue(exception.getMessage().contains("AccountRepository.findByAcountNumber"));
+        assertFalse(exception.getMessage().contains("AccountRepository.findByAccountNumber,"));
+    }
+
+    @Test
+    void hotQueriesUseIndex() {
+        //given
+        //when
+        Map<String, QueryPlanAdvisor.QueryPlan> queryPlans = queryPlanAdvisor.explainDerivedQueries()
+                .stream()
+                .collect(Collectors.toMap(QueryPlanAdvisor.QueryPlan::getQueryName, queryPlan -> queryPlan));
+
+        //then
+        QueryPlanAdvisor.QueryPlan findByAccountNumber = queryPlans.get("AccountRepository.findByAccountNumber");
+        assertTrue(findByAccountNumber.isHot());
+        assertFalse(findByAccountNumber.isFullScan(), findByAccountNumber.getPlan());
+        QueryPlanAdvisor.QueryPlan findByTransactionId = queryPlans.get("TransactionRepository.findByTransactionId");
+        assertTrue(findByTransactionId.isHot());
+        assertFalse(findByTransactionId.isFullScan(), findByTransactionId.getPlan());
+    }
+
+    @Test
+    void skipQueriesWithoutCondition() {   // @Query 로 작성한 쿼리, 조건 없는 쿼리는 점검 대상 아님
+        //given
+        //when
+        List<String> queryNames = queryPlanAdvisor.explainDerivedQueries().stream()
+                .map(QueryPlanAdvisor.QueryPlan::getQueryName)
+                .collect(Collectors.toList());
+
+        //then
+        assertFalse(queryNames.contains("AccountRepository.findByAccountNumberForUpdate"));
+        assertFalse(queryNames.contains("AccountRepository.findMaxAccountNumber"));
+        assertTrue(queryNames.contains("AccountRepository.findByAccountNumber"));
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.account.controller;
 
 import com.example.account.domain.Account;
+import com.example.account.dto.AccountBalance;
 import com.example.account.dto.AccountDto;
+import com.example.account.dto.AccountInfo;
 import com.example.account.dto.CreateAccount;
 import com.example.account.dto.DeleteAccount;
+import com.example.account.dto.SplitAccount;
 import com.example.account.exception.AccountException;
 import com.example.account.type.AccountStatus;
 import com.example.account.service.AccountService;
@@ -20,6 +23,8 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
@@ -93,20 +98,20 @@ class AccountControllerTest {    // 테스트 컨테이너
     @Test
     void successGetAccountsByUserId() throws Exception {
         //given
-        List<AccountDto> accountDtos =
+        List<AccountInfo> accountInfos =
                 Arrays.asList(
-                        AccountDto.builder()
+                        AccountInfo.builder()
                                 .accountNumber("1234567890")
                                 .balance(1000L).build(),
-                        AccountDto.builder()
+                        AccountInfo.builder()
                                 .accountNumber("1111111111")
                                 .balance(2000L).build(),
-                        AccountDto.builder()
+                        AccountInfo.builder()
                                 .accountNumber("2222222222")
                                 .balance(3000L).build()
                 );
-        given(accountService.getAccountsByUserId(anyLong()))
-                .willReturn(accountDtos);
+        given(accountService.getAccountInfosByUserId(anyLong()))
+                .willReturn(accountInfos);
 
         //when
         //then
@@ -154,4 +159,46 @@ class AccountControllerTest {    // 테스트 컨테이너
                 .andExpect(jsonPath("$.errorMessage").value("계좌가 없습니다."))  // "
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    void successGetBalance() throws Exception {
+        //given
+        given(accountService.getBalance(anyString(), any()))
+                .willReturn(AccountBalance.builder()
+                        .accountNumber("1000000012")
+                        .balance(4800L)
+                        .at(LocalDateTime.now())
+                        .build());
+
+        //when
+        //then
+        mockMvc.perform(get("/account/1000000012/balance?at=2022-06-01T12:00:00"))
+                .andDo(print())
+                .andExpect(jsonPath("$.accountNumber").value("1000000012"))
+                .andExpect(jsonPath("$.balance").value(4800))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void successSplitAccount() throws Exception {
+        //given
+        given(accountService.splitAccountBalance(anyLong(), anyString(), anyInt()))
+                .willReturn(AccountDto.builder()
+                        .userId(1L)
+                        .accountNumber("1234567890")
+                        .balance(0L)
+                        .balanceSlots(8)
+                        .build());
+        //when
+        //then
+        mockMvc.perform(post("/account/split")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new SplitAccount.Request(1L, "1234567890", 8)
+                )))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("1234567890"))
+                .andExpect(jsonPath("$.slots").value(8))
+                .andDo(print());
+    }
+}
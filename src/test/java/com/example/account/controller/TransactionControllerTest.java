@@ -3,8 +3,16 @@ package com.example.account.controller;
 import com.example.account.dto.AccountDto;
 import com.example.account.dto.CancelBalance;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.TransactionHistoryDto;
 import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.service.FailedTransactionRecorder;
+import com.example.account.service.ProcessingDelaySimulator;
+import com.example.account.service.TransactionBatchService;
+import com.example.account.service.TransactionHistoryService;
 import com.example.account.service.TransactionService;
+import com.example.account.type.ErrorCode;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -15,6 +23,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.function.Consumer;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -26,10 +37,14 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
@@ -37,6 +52,18 @@ class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;   // 가짜로 만들어서 TransactionController에 주입
 
+    @MockBean
+    private TransactionBatchService transactionBatchService;
+
+    @MockBean
+    private FailedTransactionRecorder failedTransactionRecorder;
+
+    @MockBean
+    private ProcessingDelaySimulator processingDelaySimulator;   // 지연 없이 바로 진행
+
+    @MockBean
+    private TransactionHistoryService transactionHistoryService;
+
     @Autowired
     private MockMvc mockMvc;   // 주입 (test에 필요)
 
@@ -71,6 +98,35 @@ class TransactionControllerTest {
 
     }
 
+    @Test
+    void successUseBalanceBatch() throws Exception {   // 잔액 사용 일괄 처리 (건별 성공/실패)
+        //given
+        given(transactionBatchService.useBalanceBatch(anyList()))
+                .willReturn(Arrays.asList(
+                        UseBalanceBatch.ItemResult.success(TransactionDto.builder()
+                                .accontNumber("1000000000")
+                                .transactedAt(LocalDateTime.now())
+                                .amount(12345L)
+                                .transactionId("transactionId")
+                                .transactionResultType(S)
+                                .build()),
+                        UseBalanceBatch.ItemResult.fail(ErrorCode.AMOUNT_EXCEED_BALANCE)));
+        //when
+        //then
+        mockMvc.perform(post("/transaction/use/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UseBalanceBatch.Request(Arrays.asList(
+                                        new UseBalance.Request(1L, "1000000000", 12345L),
+                                        new UseBalance.Request(1L, "1000000000", 99999L)))
+                        ))
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].response.transactionResult").value("S"))
+                .andExpect(jsonPath("$.results[0].response.transactionId").value("transactionId"))
+                .andExpect(jsonPath("$.results[1].error.errorCode").value("AMOUNT_EXCEED_BALANCE"));
+    }
+
     @Test
     void successCancelBalance() throws Exception {   // 잔액 사용 취소 성공
         //given
@@ -124,4 +180,81 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.transactionId").value("transactionIdForCancel"))
                 .andExpect(jsonPath("$.amount").value(54321));
     }
-}
\ No newline at end of file
+
+    @Test
+    void successGetTransactionHistory() throws Exception {   // 계좌별 거래 내역 (다음 페이지 커서 포함)
+        //given
+        given(transactionHistoryService.getTransactionHistory(anyString(), any(), any(), anyInt()))
+                .willReturn(TransactionHistoryDto.builder()
+                        .transactions(Arrays.asList(
+                                TransactionDto.builder()
+                                        .accontNumber("1000000000")
+                                        .transactionType(USE)
+                                        .transactionResultType(S)
+                                        .transactionId("transactionId2")
+                                        .amount(2000L)
+                                        .transactedAt(LocalDateTime.now())
+                                        .build(),
+                                TransactionDto.builder()
+                                        .accontNumber("1000000000")
+                                        .transactionType(USE)
+                                        .transactionResultType(F)
+                                        .transactionId("transactionId1")
+                                        .amount(1000L)
+                                        .transactedAt(LocalDateTime.now().minusMinutes(1))
+                                        .build()))
+                        .nextCursor("nextCursor")
+                        .build());
+
+        //when
+        //then
+        mockMvc.perform(get("/account/1000000000/transactions?type=USE&size=2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].transactionId").value("transactionId2"))
+                .andExpect(jsonPath("$.transactions[1].transactionResult").value("F"))
+                .andExpect(jsonPath("$.nextCursor").value("nextCursor"));
+    }
+
+    @Test
+    void successExportTransactionHistory() throws Exception {   // 한 줄에 거래 하나씩 스트리밍
+        //given
+        given(transactionHistoryService.getAccountId(anyString()))
+                .willReturn(1L);
+        willAnswer(invocation -> {
+            Consumer<TransactionDto> consumer = invocation.getArgument(2);
+            consumer.accept(TransactionDto.builder()
+                    .accontNumber("1000000000")
+                    .transactionType(USE)
+                    .transactionResultType(S)
+                    .transactionId("transactionId1")
+                    .amount(1000L)
+                    .build());
+            consumer.accept(TransactionDto.builder()
+                    .accontNumber("1000000000")
+                    .transactionType(CANCEL)
+                    .transactionResultType(S)
+                    .transactionId("transactionId2")
+                    .amount(1000L)
+                    .build());
+            return null;
+        }).given(transactionHistoryService).exportTransactions(anyLong(), any(), any());
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/account/1000000000/transactions/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        String[] lines = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString()
+                .split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("transactionId1",
+                objectMapper.readTree(lines[0]).get("transactionId").asText());
+        assertEquals("CANCEL",
+                objectMapper.readTree(lines[1]).get("transactionType").asText());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.BalanceJournal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BalanceJournalRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BalanceJournalRepository balanceJournalRepository;
+
+    @Test
+    void duplicateSequenceKeepsTransactionUsable() {   // 순번 충돌은 false 만 돌려주고 같은 트랜잭션에서 계속 진행
+        //given
+        Account account = entityManager.persist(Account.builder()
+                .accountUser(entityManager.find(AccountUser.class, 1L))
+                .accountStatus(IN_USE)
+                .accountNumber("1000000000")
+                .balance(1000L)
+                .registeredAt(LocalDateTime.now())
+                .build());
+        entityManager.flush();
+
+        //when
+        boolean first = balanceJournalRepository.insertIfAbsent(journal(account, 1L, 900L));
+        boolean duplicate = balanceJournalRepository.insertIfAbsent(journal(account, 1L, 800L));
+        boolean next = balanceJournalRepository.insertIfAbsent(journal(account, 2L, 800L));
+
+        //then
+        assertTrue(first);
+        assertFalse(duplicate);
+        assertTrue(next);
+        assertEquals(2, balanceJournalRepository.findByAccountAndSequenceGreaterThanOrderBySequence(account, 0L).size());
+        entityManager.persist(Account.builder()   // 이후 엔티티 저장, flush 도 정상
+                .accountUser(account.getAccountUser())
+                .accountStatus(IN_USE)
+                .accountNumber("1000000001")
+                .balance(0L)
+                .build());
+        entityManager.flush();
+    }
+
+    private BalanceJournal journal(Account account, long sequence, long balance) {
+        return BalanceJournal.builder()
+                .account(account)
+                .sequence(sequence)
+                .transactionType(USE)
+                .delta(-100L)
+                .balance(balance)
+                .journaledAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.type.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.TransactionResultType.F;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TransactionRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private final LocalDateTime now = LocalDateTime.of(2022, 6, 1, 12, 0);
+
+    @Test
+    void findHistoryContinuesAfterCursor() {   // 같은 시각의 거래는 id 로 이어서 읽음
+        //given
+        Account account = account();
+        Transaction first = transaction(account, USE, now.minusMinutes(1));
+        Transaction second = transaction(account, USE, now);
+        Transaction third = transaction(account, USE, now);
+        entityManager.flush();
+
+        //when
+        List<Transaction> firstPage = transactionRepository.findHistory(account.getId(),
+                null, null, null, null, null, null, 2);
+        Transaction last = firstPage.get(1);
+        List<Transaction> nextPage = transactionRepository.findHistory(account.getId(),
+                null, null, null, null, last.getTransactedAt(), last.getId(), 2);
+
+        //then
+        assertEquals(List.of(third.getId(), second.getId()), ids(firstPage));
+        assertEquals(List.of(first.getId()), ids(nextPage));
+    }
+
+    @Test
+    void findHistoryAppliesOnlyGivenConditions() {
+        //given
+        Account account = account();
+        Transaction use = transaction(account, USE, now.minusMinutes(2));
+        transaction(account, CANCEL, now.minusMinutes(1));
+        transaction(account, USE, now);
+        entityManager.flush();
+
+        //when
+        List<Transaction> uses = transactionRepository.findHistory(account.getId(),
+                USE, S, null, now, null, null, 10);
+        List<Transaction> failed = transactionRepository.findHistory(account.getId(),
+                null, F, null, null, null, null, 10);
+
+        //then
+        assertEquals(List.of(use.getId()), ids(uses));   // to 는 미포함
+        assertTrue(failed.isEmpty());
+    }
+
+    @Test
+    void streamHistoryInTimeOrder() {
+        //given
+        Account account = account();
+        Transaction later = transaction(account, USE, now);
+        Transaction earlier = transaction(account, CANCEL, now.minusMinutes(1));
+        entityManager.flush();
+
+        //when
+        List<Long> exported;
+        try (Stream<Transaction> transactions = transactionRepository.streamHistory(account.getId(),
+                null, null, null, null)) {
+            exported = transactions.map(Transaction::getId).collect(Collectors.toList());
+        }
+
+        //then
+        assertEquals(List.of(earlier.getId(), later.getId()), exported);
+    }
+
+    private List<Long> ids(List<Transaction> transactions) {
+        return transactions.stream()
+                .map(Transaction::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Account account() {
+        return entityManager.persist(Account.builder()
+                .accountUser(entityManager.find(AccountUser.class, 1L))
+                .accountStatus(IN_USE)
+                .accountNumber("1000000000")
+                .balance(1000L)
+                .registeredAt(now)
+                .build());
+    }
+
+    private Transaction transaction(Account account, TransactionType transactionType, LocalDateTime transactedAt) {
+        return entityManager.persist(Transaction.builder()
+                .account(account)
+                .transactionType(transactionType)
+                .transactionResultType(S)
+                .transactionId("trxId" + transactedAt + transactionType + System.nanoTime())
+                .amount(100L)
+                .balanceSnapshot(900L)
+                .transactedAt(transactedAt)
+                .build());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.account.service;
+
+import com.example.account.type.ConcurrencyMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountLockPolicyTest {
+    @Mock
+    private HotAccountService hotAccountService;
+
+    @Mock
+    private AccountOwnershipCache accountOwnershipCache;
+
+    @InjectMocks
+    private AccountLockPolicy accountLockPolicy;
+
+    @Test
+    void requireLock() {   // 정상 요청은 락
+        //given
+        given(accountOwnershipCache.willReject(anyLong(), anyString()))
+                .willReturn(false);
+
+        //when
+        //then
+        assertTrue(accountLockPolicy.requiresLock(1L, "1000000000", false));
+        verify(hotAccountService, never()).isHot(anyString());
+    }
+
+    @Test
+    void skipLock_whenDbLockMode() {   // DB 락 모드는 레디스 락을 쓰지 않음
+        //given
+        ReflectionTestUtils.setField(accountLockPolicy, "concurrencyMode", ConcurrencyMode.PESSIMISTIC);
+
+        //when
+        //then
+        assertFalse(accountLockPolicy.requiresLock(1L, "1000000000", true));
+        verify(accountOwnershipCache, never()).willReject(anyLong(), anyString());
+    }
+
+    @Test
+    void skipLock_whenRequestWillBeRejected() {   // 소유주가 다른 요청은 락 없이 검증에서 실패
+        //given
+        given(accountOwnershipCache.willReject(anyLong(), anyString()))
+                .willReturn(true);
+
+        //when
+        //then
+        assertFalse(accountLockPolicy.requiresLock(2L, "1000000000", false));
+    }
+
+    @Test
+    void skipLock_forHotAccount() {   // 분할된 계좌는 skipForHotAccount 요청만 락 없이 진행
+        //given
+        given(hotAccountService.isHot("1000000000"))
+                .willReturn(true);
+
+        //when
+        //then
+        assertFalse(accountLockPolicy.requiresLock(null, "1000000000", true));
+        assertTrue(accountLockPolicy.requiresLock(null, "1000000000", false));
+        verify(accountOwnershipCache, never()).willReject(any(), anyString());
+    }
+}
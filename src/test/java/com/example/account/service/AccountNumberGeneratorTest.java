@@ -0,0 +1,138 @@
+package com.example.account.service;
+
+import com.example.account.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RedissonClient;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberGeneratorTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RAtomicLong rAtomicLong;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private final AtomicLong redisSequence = new AtomicLong();   // 레디스에 저장된 시퀀스 값 흉내
+
+    @Test
+    void firstAccountNumber() {   // 계좌가 하나도 없으면 1000000000 부터 발급
+        //given
+        givenRedisSequence();
+        given(accountRepository.findMaxAccountNumber())
+                .willReturn(Optional.empty());
+        AccountNumberGenerator generator =
+                new AccountNumberGenerator(redissonClient, accountRepository, 10L);
+
+        //when
+        //then
+        assertEquals("1000000000", generator.nextAccountNumber());
+        assertEquals("1000000001", generator.nextAccountNumber());
+    }
+
+    @Test
+    void continueFromLastAccountNumber() {   // 이미 계좌가 있으면 마지막 계좌번호 다음부터 발급
+        //given
+        givenRedisSequence();
+        given(accountRepository.findMaxAccountNumber())
+                .willReturn(Optional.of("1000000012"));
+        AccountNumberGenerator generator =
+                new AccountNumberGenerator(redissonClient, accountRepository, 10L);
+
+        //when
+        //then
+        assertEquals("1000000013", generator.nextAccountNumber());
+    }
+
+    @Test
+    void noDuplicateAccountNumber_concurrently() throws InterruptedException {   // 여러 스레드, 여러 노드가 동시에 발급해도 중복 없음
+        //given
+        givenRedisSequence();
+        given(accountRepository.findMaxAccountNumber())
+                .willReturn(Optional.empty());
+        AccountNumberGenerator node1 =
+                new AccountNumberGenerator(redissonClient, accountRepository, 7L);
+        AccountNumberGenerator node2 =
+                new AccountNumberGenerator(redissonClient, accountRepository, 13L);   // 구간 크기가 달라도 겹치지 않음
+        Set<String> accountNumbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        //when
+        for (int i = 0; i < 8; i++) {
+            AccountNumberGenerator generator = i % 2 == 0 ? node1 : node2;
+            executorService.submit(() -> {
+                for (int j = 0; j < 500; j++) {
+                    accountNumbers.add(generator.nextAccountNumber());
+                }
+            });
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        //then
+        assertEquals(8 * 500, accountNumbers.size());   // 발급된 개수만큼 서로 다른 계좌번호
+    }
+
+    @Test
+    void moveAheadWhenRedisSequenceIsBehind() {   // 페일오버로 레디스 시퀀스가 뒤로 갔다면 DB 의 최대 계좌번호 다음부터 발급
+        //given
+        givenRedisSequence();
+        redisSequence.set(1000000005L);
+        given(accountRepository.findMaxAccountNumber())
+                .willReturn(Optional.of("1000000040"));
+        AccountNumberGenerator generator =
+                new AccountNumberGenerator(redissonClient, accountRepository, 10L);
+
+        //when
+        //then
+        assertEquals("1000000041", generator.nextAccountNumber());
+    }
+
+    @Test
+    void keepRedisSequenceWhenAhead() {   // 다른 노드가 이미 더 앞의 구간을 임대했다면 그대로 이어서 발급
+        //given
+        givenRedisSequence();
+        redisSequence.set(1000000100L);
+        given(accountRepository.findMaxAccountNumber())
+                .willReturn(Optional.of("1000000040"));
+        AccountNumberGenerator generator =
+                new AccountNumberGenerator(redissonClient, accountRepository, 10L);
+
+        //when
+        //then
+        assertEquals("1000000101", generator.nextAccountNumber());
+    }
+
+    private void givenRedisSequence() {   // RAtomicLong 을 메모리의 AtomicLong 으로 흉내
+        given(redissonClient.getAtomicLong(anyString()))
+                .willReturn(rAtomicLong);
+        given(rAtomicLong.isExists())
+                .willAnswer(invocation -> redisSequence.get() != 0L);
+        given(rAtomicLong.get())
+                .willAnswer(invocation -> redisSequence.get());
+        lenient().when(rAtomicLong.compareAndSet(anyLong(), anyLong()))
+                .thenAnswer(invocation -> redisSequence.compareAndSet(
+                        invocation.<Long>getArgument(0), invocation.<Long>getArgument(1)));
+        given(rAtomicLong.addAndGet(anyLong()))
+                .willAnswer(invocation -> redisSequence.addAndGet(invocation.<Long>getArgument(0)));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.account.service;
+
+import com.example.account.dto.AccountOwnership;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountOwnershipCacheTest {
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountUserRepository accountUserRepository;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RTopic rTopic;
+
+    private AccountOwnershipCache accountOwnershipCache;
+
+    @BeforeEach
+    void setUp() {
+        given(redissonClient.getTopic(anyString(), any()))
+                .willReturn(rTopic);
+        accountOwnershipCache = new AccountOwnershipCache(
+                accountRepository, accountUserRepository, redissonClient, 100, 600);
+        accountOwnershipCache.subscribe();
+    }
+
+    @Test
+    void validate_ownerUnMatch() {   // 다른 사용자의 계좌
+        //given
+        given(accountRepository.findOwnershipByAccountNumber(anyString()))
+                .willReturn(Optional.of(ownership(12L, AccountStatus.IN_USE)));
+        given(accountUserRepository.existsById(13L))
+                .willReturn(true);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountOwnershipCache.validate(13L, "1000000012"));
+
+        //then
+        assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, exception.getErrorCode());
+        assertTrue(accountOwnershipCache.willReject(13L, "1000000012"));
+    }
+
+    @Test
+    void validate_userNotFound() {   // 없는 사용자는 원래 검증처럼 USER_NOT_FOUND
+        //given
+        given(accountRepository.findOwnershipByAccountNumber(anyString()))
+                .willReturn(Optional.of(ownership(12L, AccountStatus.IN_USE)));
+        given(accountUserRepository.existsById(13L))
+                .willReturn(false);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountOwnershipCache.validate(13L, "1000000012"));
+
+        //then
+        assertEquals(ErrorCode.USER_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    void validate_alreadyUnregistered() {   // 해지된 계좌
+        //given
+        given(accountRepository.findOwnershipByAccountNumber(anyString()))
+                .willReturn(Optional.of(ownership(12L, AccountStatus.UNREGISTERED)));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountOwnershipCache.validate(12L, "1000000012"));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, exception.getErrorCode());
+    }
+
+    @Test
+    void validate_cached() {   // 정상 요청은 통과, 두 번째부터는 DB 조회 없음
+        //given
+        given(accountRepository.findOwnershipByAccountNumber(anyString()))
+                .willReturn(Optional.of(ownership(12L, AccountStatus.IN_USE)));
+
+        //when
+        accountOwnershipCache.validate(12L, "1000000012");
+        boolean rejected = accountOwnershipCache.willReject(12L, "1000000012");
+
+        //then
+        assertFalse(rejected);
+        verify(accountRepository, times(1)).findOwnershipByAccountNumber("1000000012");
+    }
+
+    @Test
+    void validate_accountNotFound() {   // 없는 계좌는 캐시에 담지 않고 원래 검증에 맡김
+        //given
+        given(accountRepository.findOwnershipByAccountNumber(anyString()))
+                .willReturn(Optional.empty());
+
+        //when
+        assertDoesNotThrow(() -> accountOwnershipCache.validate(12L, "1000000012"));
+        assertFalse(accountOwnershipCache.willReject(12L, "1000000012"));
+
+        //then
+        verify(accountRepository, times(2)).findOwnershipByAccountNumber("1000000012");
+    }
+
+    @Test
+    void invalidate_publishAndReload() {   // 해지되면 다른 서버에 알리고 다시 읽음
+        //given
+        given(accountRepository.findOwnershipByAccountNumber(anyString()))
+                .willReturn(Optional.of(ownership(12L, AccountStatus.IN_USE)))
+                .willReturn(Optional.of(ownership(12L, AccountStatus.UNREGISTERED)));
+        accountOwnershipCache.validate(12L, "1000000012");
+
+        //when
+        accountOwnershipCache.invalidateAfterCommit("1000000012");   // 트랜잭션 밖이므로 바로 지움
+
+        //then
+        verify(rTopic, times(1)).publish("1000000012");
+        assertTrue(accountOwnershipCache.willReject(12L, "1000000012"));
+    }
+
+    private AccountOwnership ownership(Long ownerId, AccountStatus accountStatus) {
+        return AccountOwnership.builder()
+                .accountId(1L)
+                .ownerId(ownerId)
+                .accountStatus(accountStatus)
+                .build();
+    }
+}
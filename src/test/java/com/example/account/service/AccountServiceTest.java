@@ -3,11 +3,13 @@ package com.example.account.service;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
+import com.example.account.dto.AccountInfo;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.repository.AccountRepository;
 import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,8 +17,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.DoNotMock;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RedissonClient;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +29,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.RETURNS_MOCKS;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -38,21 +45,42 @@ class AccountServiceTest {   // 하위에 AccountRepository 의존성을 갖고
     private AccountUserRepository accountUserRepository;
     // 가짜로 accountUserRepository 를 생성하여 Mock으로 만듦
 
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+    // 가짜로 계좌번호 발급기를 생성하여 Mock으로 만듦
+
+    @Mock
+    private HotAccountService hotAccountService;
+    // 잔액 분할 여부 (기본은 분할 안 된 계좌)
+
+    @Spy
+    private AccountSummaryCache accountSummaryCache =
+            new AccountSummaryCache(mock(RedissonClient.class, RETURNS_MOCKS), 100, 60);
+    // 실제 캐시 (두 번째 조회부터 리포지토리를 거치지 않는지 확인, 레디스 토픽은 목)
+
+    @Mock
+    private AccountOwnershipCache accountOwnershipCache;   // 기본은 캐시로 판단할 수 없음 (원래 검증)
+
     @InjectMocks  // 위 두 개의 Mock이 달려있는 accountService 가 생성이 되어서 들어감
     private AccountService accountService;  // 위 두 개의 Mock이 달려있는 accountService 가 생성이 되어서 들어감
 
+    @BeforeEach
+    void setUp() {
+        accountSummaryCache.subscribe();
+    }
+
     @Test   // 계좌 생성이 최초가 아닐 경우
-    void createAccountSuccess() {   // findById, findFirstByOrderByIdDesc, save에 대한 Mocking이 모두 되어있어야만 함.
+    void createAccountSuccess() {   // findById, nextAccountNumber, save에 대한 Mocking이 모두 되어있어야만 함.
         //given
         AccountUser user = AccountUser.builder()  // 사용될 변수 user
                 .name("Pobi").build();
         user.setId(12L);
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(user));
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.of(Account.builder()
-                                .accountUser(user)   // 하위에있는 accountUser 담기
-                                .accountNumber("1000000012").build()));  // 현재까지 저장된 가장 마지막 계좌번호는 12
+        given(accountUserRepository.increaseAccountCount(anyLong(), anyInt()))
+                .willReturn(1);   // 보유 계좌 수가 10개 미만이라 증가됨
+        given(accountNumberGenerator.nextAccountNumber())
+                .willReturn("1000000013");  // 현재까지 저장된 가장 마지막 계좌번호는 12 -> 발급기가 13을 줌
 
         given(accountRepository.save(any()))   // 새로 만들어지는 Account는 여기서 응답으로 줌
                 .willReturn(Account.builder()
@@ -78,8 +106,10 @@ class AccountServiceTest {   // 하위에 AccountRepository 의존성을 갖고
         user.setId(15L);
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(user));
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.empty());  // 이전에 생성된 계좌가 없는 경우
+        given(accountUserRepository.increaseAccountCount(anyLong(), anyInt()))
+                .willReturn(1);
+        given(accountNumberGenerator.nextAccountNumber())
+                .willReturn("1000000000");  // 이전에 생성된 계좌가 없는 경우 발급기가 첫 계좌번호를 줌
 
         given(accountRepository.save(any()))   // 새로 만들어지는 Account는 여기서 응답으로 줌
                 .willReturn(Account.builder()
@@ -121,8 +151,8 @@ class AccountServiceTest {   // 하위에 AccountRepository 의존성을 갖고
         user.setId(15L);
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(user));  // findById로 Account를 정상적으로 찾음
-        given(accountRepository.countByAccountUser(any()))
-                .willReturn(10);   // 응답으로 계좌의 개수=10 을 주었을 때
+        given(accountUserRepository.increaseAccountCount(anyLong(), eq(10)))
+                .willReturn(0);   // 보유 계좌 수가 이미 10개라서 증가되지 않았을 때
         //when
         AccountException exception = assertThrows(AccountException.class,   // 해당 logic은 accountException을 던질 것.
                 () -> accountService.createAccount(1L, 1000L));
@@ -154,6 +184,7 @@ class AccountServiceTest {   // 하위에 AccountRepository 의존성을 갖고
         assertEquals(12L, accountDto.getUserId());
         assertEquals("1000000012", captor.getValue().getAccountNumber());  // 해지된 계좌는 1000000012 인지
         assertEquals(AccountStatus.UNREGISTERED, captor.getValue().getAccountStatus());   // 그 계좌의 상태가 UNREGISTERED 인지
+        verify(accountUserRepository, times(1)).decreaseAccountCount(12L);   // 보유 계좌 수 감소
     }
 
     @Test
@@ -265,58 +296,142 @@ class AccountServiceTest {   // 하위에 AccountRepository 의존성을 갖고
     }
 
     @Test
-    void successGetAccountsByUserId() {
+    void successGetAccountInfosByUserId() {   // 계좌 목록은 프로젝션으로 바로 조회
         //given
-        AccountUser pobi = AccountUser.builder()
-                .name("Pobi").build();  // Pobi가 검색되고,
-        pobi.setId(12L);
-        List<Account> accounts = Arrays.asList(   // 가상계좌 3개를 만들어서 List에 넣음
-                Account.builder()
-                        .accountUser(pobi)
-                        .accountNumber("1111111111")
-                        .balance(1000L)
-                        .build(),
-                Account.builder()
-                        .accountUser(pobi)
-                        .accountNumber("2222222222")
-                        .balance(2000L)
-                        .build(),
-                Account.builder()
-                        .accountUser(pobi)
-                        .accountNumber("3333333333")
-                        .balance(3000L)
-                        .build()
-        );
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+        given(accountRepository.findAccountInfosByUserId(anyLong()))
+                .willReturn(Arrays.asList(
+                        new AccountInfo("1111111111", 1000L),
+                        new AccountInfo("2222222222", 2000L)));
+
+        //when
+        List<AccountInfo> accountInfos = accountService.getAccountInfosByUserId(1L);
+
+        //then
+        assertEquals(2, accountInfos.size());
+        assertEquals("1111111111", accountInfos.get(0).getAccountNumber());
+        assertEquals(2000, accountInfos.get(1).getBalance());
+        verify(accountUserRepository, times(0)).findById(anyLong());   // 사용자 엔티티는 로딩하지 않음
+    }
+
+    @Test
+    void getAccountInfosByUserId_cached() {   // 두 번째 조회는 캐시에서 응답
+        //given
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+        given(accountRepository.findAccountInfosByUserId(anyLong()))
+                .willReturn(Arrays.asList(new AccountInfo("1111111111", 1000L)));
+        accountService.getAccountInfosByUserId(1L);
+
+        //when
+        List<AccountInfo> accountInfos = accountService.getAccountInfosByUserId(1L);
+
+        //then
+        assertEquals(1, accountInfos.size());
+        verify(accountRepository, times(1)).findAccountInfosByUserId(1L);
+    }
+
+    @Test
+    void getAccountInfosByUserId_afterEvict() {   // 잔액이 바뀌어 캐시에서 지워지면 다시 조회
+        //given
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+        given(accountRepository.findAccountInfosByUserId(anyLong()))
+                .willReturn(Arrays.asList(new AccountInfo("1111111111", 1000L)))
+                .willReturn(Arrays.asList(new AccountInfo("1111111111", 500L)));
+        accountService.getAccountInfosByUserId(1L);
+
+        //when
+        accountSummaryCache.evictAfterCommit(1L);   // 트랜잭션 밖이므로 바로 지움
+        List<AccountInfo> accountInfos = accountService.getAccountInfosByUserId(1L);
+
+        //then
+        assertEquals(500L, accountInfos.get(0).getBalance());
+        verify(accountRepository, times(2)).findAccountInfosByUserId(1L);
+    }
+
+    @Test
+    void failedToGetAccountInfos() {  // 사용자 id가 없을 때
+        //given
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(false);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountService.getAccountInfosByUserId(1L));
+
+        //then
+        assertEquals(ErrorCode.USER_NOT_FOUND,  exception.getErrorCode());
+    }
+
+    @Test
+    void getBalanceAt_columnMode() {   // 컬럼 모드는 과거 잔액을 알 수 없음
+        //given
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder()
+                        .accountNumber("1000000012")
+                        .balance(1000L).build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountService.getBalance("1000000012", LocalDateTime.now().minusDays(1)));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    @Test
+    void splitAccountBalanceSuccess() {
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("Pobi").build();
+        user.setId(12L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build();
         given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(pobi));
-        given(accountRepository.findByAccountUser(any()))
-                .willReturn(accounts);
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumberForUpdate(anyString()))   // 옮기는 동안 계좌 행을 잠금
+                .willReturn(Optional.of(account));
 
         //when
-        List<AccountDto> accountDtos = accountService.getAccountsByUserId(1L);
+        AccountDto accountDto = accountService.splitAccountBalance(12L, "1000000012", 8);
 
         //then
-        assertEquals(3, accountDtos.size());
-        assertEquals("1111111111", accountDtos.get(0).getAccountNumber());
-        assertEquals(1000, accountDtos.get(0).getBalance());
-        assertEquals("2222222222", accountDtos.get(1).getAccountNumber());
-        assertEquals(2000, accountDtos.get(1).getBalance());
-        assertEquals("3333333333", accountDtos.get(2).getAccountNumber());
-        assertEquals(3000, accountDtos.get(2).getBalance());
+        verify(hotAccountService, times(1)).split(account, 8);
+        assertEquals(12L, accountDto.getUserId());
+        assertEquals("1000000012", accountDto.getAccountNumber());
     }
 
     @Test
-    void failedToGetAccounts() {  // 사용자 id가 없을 때
+    @DisplayName("이미 분할된 계좌 - 분할 실패")
+    void splitAccountBalance_alreadySplit() {
         //given
+        AccountUser user = AccountUser.builder()
+                .name("Pobi").build();
+        user.setId(12L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(0L)
+                .balanceSlots(8)
+                .accountNumber("1000000012").build();
         given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.empty());   // findById로 유저를 조회했을 때 empty() 응답
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumberForUpdate(anyString()))
+                .willReturn(Optional.of(account));
+        given(hotAccountService.isHot(account))
+                .willReturn(true);
 
         //when
         AccountException exception = assertThrows(AccountException.class,
-                () -> accountService.getAccountsByUserId(1L));   // 임의의 값을 넣어준다
+                () -> accountService.splitAccountBalance(12L, "1000000012", 4));
 
         //then
-        assertEquals(ErrorCode.USER_NOT_FOUND,  exception.getErrorCode());
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+        verify(hotAccountService, times(0)).split(any(), anyInt());
     }
 }
-
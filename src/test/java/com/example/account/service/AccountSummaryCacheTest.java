@@ -0,0 +1,76 @@
+package com.example.account.service;
+
+import com.example.account.dto.AccountInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountSummaryCacheTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RTopic rTopic;
+
+    private AccountSummaryCache accountSummaryCache;
+
+    private MessageListener<String> listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        given(redissonClient.getTopic(anyString(), any()))
+                .willReturn(rTopic);
+        ArgumentCaptor<MessageListener<String>> captor = ArgumentCaptor.forClass(MessageListener.class);
+        given(rTopic.addListener(eq(String.class), captor.capture()))
+                .willReturn(1);
+        accountSummaryCache = new AccountSummaryCache(redissonClient, 100, 60);
+        accountSummaryCache.subscribe();
+        listener = captor.getValue();
+    }
+
+    @Test
+    void evict_publish() {   // 잔액이 바뀌면 로컬에서 지우고 다른 서버에 알림
+        //given
+        accountSummaryCache.get(1L, userId -> Arrays.asList(new AccountInfo("1000000000", 1000L)));
+
+        //when
+        accountSummaryCache.evictAfterCommit(1L);   // 트랜잭션 밖이므로 바로 지움
+        List<AccountInfo> accountInfos = accountSummaryCache.get(1L,
+                userId -> Arrays.asList(new AccountInfo("1000000000", 500L)));
+
+        //then
+        verify(rTopic, times(1)).publish("1");
+        assertEquals(500L, accountInfos.get(0).getBalance());
+    }
+
+    @Test
+    void evict_fromOtherServer() {   // 다른 서버에서 바뀐 잔액은 토픽 메시지를 받으면 지움
+        //given
+        accountSummaryCache.get(1L, userId -> Arrays.asList(new AccountInfo("1000000000", 1000L)));
+
+        //when
+        listener.onMessage("ACSUM:invalidate", "1");
+        List<AccountInfo> accountInfos = accountSummaryCache.get(1L,
+                userId -> Arrays.asList(new AccountInfo("1000000000", 500L)));
+
+        //then
+        assertEquals(500L, accountInfos.get(0).getBalance());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.account.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+@DataJpaTest   // 레디스 없이 JPA 관련 빈만 띄움
+@Import({BulkLoader.class, SnowflakeTransactionIdGenerator.class})
+@TestPropertySource(properties = {   // perf 프로필처럼 마이그레이션으로 스키마를 만들고 엔티티와 일치하는지 검증
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.sql.init.mode=never",
+        "account.transaction-id.node-id=0",   // 레디스 없이 고정 노드 id
+        "account.bulk-load.chunk-size=3",
+        "account.bulk-load.batch-size=4"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)   // 적재는 chunk 마다 커밋
+class BulkLoaderTest {
+    @MockBean
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Autowired
+    private BulkLoader bulkLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void loadUsersAccountsAndTransactions() {
+        //given
+        AtomicLong accountNumber = new AtomicLong(1000000000L);
+        given(accountNumberGenerator.nextAccountNumber())
+                .willAnswer(invocation -> String.valueOf(accountNumber.getAndIncrement()));
+
+        //when
+        bulkLoader.load(7, 2, 5);
+
+        //then
+        assertEquals(7, count("select count(*) from account_user"));
+        assertEquals(14, count("select count(*) from account"));
+        assertEquals(70, count("select count(*) from transaction"));
+        assertEquals(14, count("select sum(account_count) from account_user"));
+        assertEquals(0, count("select count(*) from account a where a.balance <>"
+                + " (select min(t.balance_snapshot) from transaction t where t.account_id = a.id)"));   // 계좌 잔액 = 마지막 거래 후 잔액
+        assertEquals(8, count("select next value for account_user_seq"));   // 적재한 id 뒤부터 발급
+    }
+
+    @Test
+    void rejectTooManyAccountsPerUser() {
+        //given
+        //when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bulkLoader.load(1, AccountService.MAX_ACCOUNTS_PER_USER + 1, 1));
+
+        //then
+        assertTrue(exception.getMessage().contains("accounts-per-user"));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
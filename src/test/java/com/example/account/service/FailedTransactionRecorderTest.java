@@ -0,0 +1,72 @@
+package com.example.account.service;
+
+import com.example.account.dto.FailedTransaction;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionRecorderTest {
+    @Mock
+    private TransactionService transactionService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushOnStop() throws InterruptedException {   // 종료할 때 큐에 남은 실패 거래를 모두 저장
+        //given
+        FailedTransactionRecorder recorder = new FailedTransactionRecorder(
+                transactionService, meterRegistry, 100, 10, 50L);
+        recorder.start();
+        ArgumentCaptor<List<FailedTransaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        recorder.record(USE, "1000000000", 100L);
+        recorder.record(CANCEL, "1000000001", 200L);
+        recorder.record(USE, "1000000002", 300L);
+        recorder.stop();
+
+        //then
+        verify(transactionService, atLeastOnce()).saveFailedTransactions(captor.capture());
+        List<String> recorded = captor.getAllValues().stream()
+                .flatMap(List::stream)
+                .map(FailedTransaction::getAccountNumber)
+                .collect(Collectors.toList());
+        assertEquals(List.of("1000000000", "1000000001", "1000000002"), recorded);   // 순서대로 빠짐없이 저장
+        assertEquals(3.0, meterRegistry.counter("failed.transaction.written").count());
+    }
+
+    @Test
+    void recordSynchronously_whenQueueIsFull() {   // 큐가 가득 차면 요청 스레드에서 바로 저장 (기록을 잃지 않음)
+        //given
+        FailedTransactionRecorder recorder = new FailedTransactionRecorder(
+                transactionService, meterRegistry, 1, 10, 50L);   // writer 를 시작하지 않아서 큐가 비워지지 않음
+
+        //when
+        recorder.record(USE, "1000000000", 100L);   // 큐에 들어감
+        recorder.record(USE, "1000000001", 200L);   // 큐가 가득 참 -> 직접 저장
+
+        //then
+        verify(transactionService, times(1)).saveFailedTransactions(argThat(
+                failedTransactions -> failedTransactions.size() == 1
+                        && "1000000001".equals(failedTransactions.get(0).getAccountNumber())));
+        assertEquals(1.0, meterRegistry.counter("failed.transaction.rejected").count());
+        assertEquals(1.0, meterRegistry.find("failed.transaction.queue.size").gauge().value());
+    }
+}
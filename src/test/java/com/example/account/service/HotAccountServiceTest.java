@@ -0,0 +1,164 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.BalanceSlot;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.BalanceSlotRepository;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotAccountServiceTest {
+    @Mock
+    private BalanceSlotRepository balanceSlotRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private HotAccountService hotAccountService;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        hotAccountService = new HotAccountService(
+                balanceSlotRepository, accountRepository, entityManager, 10L);
+        account = Account.builder()
+                .accountNumber("1000000000")
+                .balance(0L)
+                .balanceSlots(3)
+                .build();
+        account.setId(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void split() {   // 기존 잔액은 0번 슬롯으로 옮기고 account.balance 는 0
+        //given
+        Account notSplit = Account.builder()
+                .accountNumber("1000000001")
+                .balance(10000L)
+                .build();
+        ArgumentCaptor<List<BalanceSlot>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        hotAccountService.split(notSplit, 4);
+
+        //then
+        verify(balanceSlotRepository, times(1)).saveAll(captor.capture());
+        List<BalanceSlot> balanceSlots = captor.getValue();
+        assertEquals(4, balanceSlots.size());
+        assertEquals(10000L, balanceSlots.get(0).getBalance());
+        assertEquals(0L, balanceSlots.get(3).getBalance());
+        assertEquals(0L, notSplit.getBalance());
+        assertTrue(hotAccountService.isHot(notSplit));
+        assertTrue(hotAccountService.isHot("1000000001"));   // 트랜잭션 밖이면 바로 캐시에 반영
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+
+    @Test
+    void creditToOneSlot() {   // 슬롯 하나에만 더함
+        //given
+        given(balanceSlotRepository.credit(anyLong(), anyInt(), anyLong()))
+                .willReturn(1);
+        ArgumentCaptor<Integer> captor = ArgumentCaptor.forClass(Integer.class);
+
+        //when
+        hotAccountService.credit(account, 1000L);
+
+        //then
+        verify(balanceSlotRepository, times(1)).credit(eq(1L), captor.capture(), eq(1000L));
+        assertTrue(captor.getValue() >= 0 && captor.getValue() < 3);
+    }
+
+    @Test
+    void debitFromSlotWithEnoughBalance() {   // 충분한 슬롯을 찾으면 모으지 않음
+        //given
+        given(balanceSlotRepository.debitIfAvailable(anyLong(), anyInt(), anyLong()))
+                .willReturn(0, 1);
+
+        //when
+        hotAccountService.debit(account, 500L);
+
+        //then
+        verify(balanceSlotRepository, times(2)).debitIfAvailable(eq(1L), anyInt(), eq(500L));
+        verify(balanceSlotRepository, never()).findAllForUpdate(anyLong());
+    }
+
+    @Test
+    void debitAfterConsolidate() {   // 어느 슬롯도 혼자서는 부족하면 한 슬롯으로 모아서 차감
+        //given
+        given(balanceSlotRepository.debitIfAvailable(anyLong(), anyInt(), anyLong()))
+                .willReturn(0);
+        List<BalanceSlot> balanceSlots = slots(300L, 300L, 400L);
+        given(balanceSlotRepository.findAllForUpdate(anyLong()))
+                .willReturn(balanceSlots);
+
+        //when
+        hotAccountService.debit(account, 700L);
+
+        //then
+        verify(balanceSlotRepository, times(3)).debitIfAvailable(eq(1L), anyInt(), eq(700L));
+        assertEquals(300L, balanceSlots.stream().mapToLong(BalanceSlot::getBalance).sum());
+        assertEquals(2L, balanceSlots.stream().filter(slot -> slot.getBalance() == 0L).count());
+        verify(entityManager, times(1)).flush();
+    }
+
+    @Test
+    void debit_exceedBalance() {   // 모든 슬롯 합이 부족하면 실패
+        //given
+        given(balanceSlotRepository.debitIfAvailable(anyLong(), anyInt(), anyLong()))
+                .willReturn(0);
+        given(balanceSlotRepository.findAllForUpdate(anyLong()))
+                .willReturn(slots(300L, 300L, 400L));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> hotAccountService.debit(account, 1001L));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(entityManager, never()).flush();
+    }
+
+    @Test
+    void balanceOf() {   // account.balance + 슬롯 합
+        //given
+        given(balanceSlotRepository.sumBalance(anyLong()))
+                .willReturn(1000L);
+
+        //when
+        //then
+        assertEquals(1000L, hotAccountService.balanceOf(account));
+    }
+
+    private List<BalanceSlot> slots(Long... balances) {
+        List<BalanceSlot> balanceSlots = new ArrayList<>();
+        for (int i = 0; i < balances.length; i++) {
+            balanceSlots.add(BalanceSlot.builder()
+                    .account(account)
+                    .slotIndex(i)
+                    .balance(balances[i])
+                    .build());
+        }
+        return balanceSlots;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.account.service;
+
+import com.example.account.aop.Idempotent;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.service.IdempotencyService.IdempotencyRecord;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyAspectTest {
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    private MethodSignature signature;
+
+    @Mock
+    private Idempotent idempotent;
+
+    @Mock
+    private ScheduledFuture<Object> keepAlive;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+
+    private final UseBalance.Request request = new UseBalance.Request(1L, "1000000000", 1000L);
+
+    private final UseBalance.Response response = UseBalance.Response.builder()
+            .accountNumber("1000000000")
+            .transactionResult(TransactionResultType.S)
+            .transactionId("transactionId")
+            .amount(1000L)
+            .transactedAt(LocalDateTime.now())
+            .build();
+
+    private IdempotencyAspect idempotencyAspect;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyAspect = new IdempotencyAspect(idempotencyService, objectMapper, 1000L);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(httpRequest));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void proceedWithoutKey() throws Throwable {   // 헤더가 없으면 매번 처리
+        //given
+        given(proceedingJoinPoint.proceed()).willReturn(response);
+
+        //when
+        Object result = idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent);
+
+        //then
+        assertSame(response, result);
+        verifyNoInteractions(idempotencyService);
+    }
+
+    @Test
+    void storeResponse_firstRequest() throws Throwable {   // 처음 요청은 처리하고 응답을 보관
+        //given
+        givenRequest("key-1");
+        given(idempotencyService.begin(anyString(), any())).willReturn(null);
+        willReturn(keepAlive).given(idempotencyService).keepAlive(anyString(), any());
+        given(idempotencyService.complete(anyString(), any(), any())).willReturn(true);
+        given(proceedingJoinPoint.proceed()).willReturn(response);
+        ArgumentCaptor<IdempotencyRecord> claimCaptor = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        ArgumentCaptor<IdempotencyRecord> captor = ArgumentCaptor.forClass(IdempotencyRecord.class);
+
+        //when
+        idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent);
+
+        //then
+        verify(idempotencyService, times(1)).begin(eq("useBalance:key-1"), claimCaptor.capture());
+        verify(idempotencyService, times(1)).keepAlive("useBalance:key-1", claimCaptor.getValue());
+        verify(keepAlive, times(1)).cancel(false);   // 처리가 끝나면 연장 중지
+        verify(idempotencyService, times(1)).complete(eq("useBalance:key-1"),
+                same(claimCaptor.getValue()), captor.capture());   // 자신이 선점한 기록에만 보관
+        assertTrue(claimCaptor.getValue().isProcessing());
+        assertFalse(captor.getValue().isProcessing());
+        assertEquals("transactionId", objectMapper.readValue(
+                captor.getValue().getResponse(), UseBalance.Response.class).getTransactionId());
+    }
+
+    @Test
+    void replayStoredResponse() throws Throwable {   // 이미 처리된 키는 진행하지 않고 저장된 응답
+        //given
+        givenRequest("key-1");
+        given(signature.getReturnType()).willReturn(UseBalance.Response.class);
+        given(idempotencyService.begin(anyString(), any()))
+                .willReturn(IdempotencyRecord.success(fingerprint(), objectMapper.writeValueAsString(response)));
+
+        //when
+        UseBalance.Response result = (UseBalance.Response)
+                idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent);
+
+        //then
+        verify(proceedingJoinPoint, never()).proceed();
+        assertEquals("transactionId", result.getTransactionId());
+        assertEquals(1000L, result.getAmount());
+    }
+
+    @Test
+    void waitForInFlightRequest() throws Throwable {   // 처리 중인 같은 요청은 끝날 때까지 기다렸다가 그 결과를 받음
+        //given
+        givenRequest("key-1");
+        given(signature.getReturnType()).willReturn(UseBalance.Response.class);
+        given(idempotencyService.begin(anyString(), any()))
+                .willReturn(IdempotencyRecord.processing(fingerprint()));
+        given(idempotencyService.await(anyString(), anyLong()))
+                .willReturn(IdempotencyRecord.success(fingerprint(), objectMapper.writeValueAsString(response)));
+
+        //when
+        UseBalance.Response result = (UseBalance.Response)
+                idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent);
+
+        //then
+        verify(proceedingJoinPoint, never()).proceed();
+        verify(idempotencyService, times(1)).await("useBalance:key-1", 1000L);
+        assertEquals("transactionId", result.getTransactionId());
+    }
+
+    @Test
+    void replayStoredError() throws Throwable {   // 처음 요청이 실패했으면 같은 에러
+        //given
+        givenRequest("key-1");
+        given(idempotencyService.begin(anyString(), any()))
+                .willReturn(IdempotencyRecord.failure(fingerprint(), ErrorCode.AMOUNT_EXCEED_BALANCE.name()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    @Test
+    void releaseKey_whenLockFailed() throws Throwable {   // 락 취득 실패는 다시 처리할 수 있도록 키를 풀어줌
+        //given
+        givenRequest("key-1");
+        given(idempotencyService.begin(anyString(), any())).willReturn(null);
+        willReturn(keepAlive).given(idempotencyService).keepAlive(anyString(), any());
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+
+        //when
+        assertThrows(AccountException.class,
+                () -> idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent));
+
+        //then
+        verify(idempotencyService, times(1)).release(eq("useBalance:key-1"), any());
+        verify(idempotencyService, never()).complete(anyString(), any(), any());
+        verify(keepAlive, times(1)).cancel(false);
+    }
+
+    @Test
+    void rejectDifferentRequestWithSameKey() throws Throwable {   // 같은 키로 다른 내용을 보내면 실패
+        //given
+        givenRequest("key-1");
+        given(idempotencyService.begin(anyString(), any()))
+                .willReturn(IdempotencyRecord.success("other", "{}"));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> idempotencyAspect.aroundMethod(proceedingJoinPoint, idempotent));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    private void givenRequest(String idempotencyKey) {
+        httpRequest.addHeader(IdempotencyAspect.HEADER, idempotencyKey);
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getName()).willReturn("useBalance");
+        given(proceedingJoinPoint.getArgs()).willReturn(new Object[]{request});
+    }
+
+    private String fingerprint() throws Exception {
+        return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(new Object[]{request}));
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.account.service;
+
+import com.example.account.service.IdempotencyService.IdempotencyRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RBucket<Object> bucket;
+
+    @Mock
+    private RScript script;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(redissonClient, objectMapper, 60L, 15000L);
+        lenient().when(redissonClient.getBucket(anyString(), any())).thenReturn(bucket);
+        lenient().when(redissonClient.getScript(any())).thenReturn(script);
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyService.shutdown();
+    }
+
+    @Test
+    void beginFirstRequest() {   // 선점에 성공하면 null
+        //given
+        given(bucket.trySet(anyString(), anyLong(), any())).willReturn(true);
+
+        //when
+        //then
+        assertNull(idempotencyService.begin("useBalance:key-1", IdempotencyRecord.processing("hash")));
+        verify(bucket, times(1)).trySet(anyString(), eq(15000L), eq(TimeUnit.MILLISECONDS));
+        verify(redissonClient, times(1)).getBucket(eq("IDEM:useBalance:key-1"), any());
+    }
+
+    @Test
+    void beginDuplicateRequest() throws Exception {   // 이미 있으면 저장된 기록
+        //given
+        given(bucket.trySet(anyString(), anyLong(), any())).willReturn(false);
+        given(bucket.get()).willReturn(objectMapper.writeValueAsString(
+                IdempotencyRecord.success("hash", "{\"transactionId\":\"t1\"}")));
+
+        //when
+        IdempotencyRecord record = idempotencyService.begin("useBalance:key-1", IdempotencyRecord.processing("hash"));
+
+        //then
+        assertFalse(record.isProcessing());
+        assertEquals("{\"transactionId\":\"t1\"}", record.getResponse());
+    }
+
+    @Test
+    void awaitUntilCompleted() throws Exception {   // 처리 중 -> 완료될 때까지 다시 확인
+        //given
+        given(bucket.get()).willReturn(
+                objectMapper.writeValueAsString(IdempotencyRecord.processing("hash")),
+                objectMapper.writeValueAsString(IdempotencyRecord.failure("hash", "AMOUNT_EXCEED_BALANCE")));
+
+        //when
+        IdempotencyRecord record = idempotencyService.await("useBalance:key-1", 1000L);
+
+        //then
+        assertEquals("AMOUNT_EXCEED_BALANCE", record.getErrorCode());
+        verify(bucket, times(2)).get();
+    }
+
+    @Test
+    void awaitTimeout() throws Exception {   // 시간 안에 안 끝나면 처리 중 기록 그대로
+        //given
+        given(bucket.get()).willReturn(objectMapper.writeValueAsString(IdempotencyRecord.processing("hash")));
+
+        //when
+        IdempotencyRecord record = idempotencyService.await("useBalance:key-1", 30L);
+
+        //then
+        assertTrue(record.isProcessing());
+    }
+
+    @Test
+    void completeOwnClaimOnly() throws Exception {   // 자신이 선점한 PROCESSING 기록일 때만 결과를 보관
+        //given
+        IdempotencyRecord claim = IdempotencyRecord.processing("hash");
+        given(script.eval(eq(RScript.Mode.READ_WRITE), anyString(), eq(RScript.ReturnType.BOOLEAN),
+                eq(List.of("IDEM:useBalance:key-1")),
+                eq(objectMapper.writeValueAsString(claim)), anyString(), eq("60000")))
+                .willReturn(false);   // 만료 후 다른 요청이 선점함
+
+        //when
+        boolean completed = idempotencyService.complete("useBalance:key-1", claim,
+                IdempotencyRecord.success("hash", "{}"));
+
+        //then
+        assertFalse(completed);
+        verify(bucket, never()).set(any(), anyLong(), any());
+    }
+
+    @Test
+    void releaseOwnClaimOnly() throws Exception {
+        //given
+        IdempotencyRecord claim = IdempotencyRecord.processing("hash");
+        given(script.eval(eq(RScript.Mode.READ_WRITE), anyString(), eq(RScript.ReturnType.BOOLEAN),
+                eq(List.of("IDEM:useBalance:key-1")), eq(objectMapper.writeValueAsString(claim))))
+                .willReturn(true);
+
+        //when
+        //then
+        assertTrue(idempotencyService.release("useBalance:key-1", claim));
+        verify(bucket, never()).delete();
+    }
+
+    @Test
+    void keepClaimAliveWhileProcessing() throws Exception {   // 처리 중에는 PROCESSING 만료시간을 계속 연장
+        //given
+        idempotencyService = new IdempotencyService(redissonClient, objectMapper, 60L, 30L);
+        IdempotencyRecord claim = IdempotencyRecord.processing("hash");
+        given(script.eval(eq(RScript.Mode.READ_WRITE), anyString(), eq(RScript.ReturnType.BOOLEAN),
+                eq(List.of("IDEM:useBalance:key-1")), eq(objectMapper.writeValueAsString(claim)), eq("30")))
+                .willReturn(true);
+
+        //when
+        ScheduledFuture<?> keepAlive = idempotencyService.keepAlive("useBalance:key-1", claim);
+        Thread.sleep(100L);
+        keepAlive.cancel(false);
+
+        //then
+        verify(script, atLeast(2)).eval(eq(RScript.Mode.READ_WRITE), anyString(),
+                eq(RScript.ReturnType.BOOLEAN), anyList(), any(), eq("30"));
+    }
+
+    @Test
+    void processingClaimsAreDistinct() {   // 같은 내용의 요청이라도 선점 기록은 요청마다 다름
+        assertNotEquals(IdempotencyRecord.processing("hash").getOwner(),
+                IdempotencyRecord.processing("hash").getOwner());
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.account.service;
+
+import com.example.account.aop.LatencyBudget;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.Environment;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class LatencyBudgetAspectTest {
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();   // 실제로 카운트 되는지 확인
+
+    @Mock
+    private Environment environment;
+
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    private Signature signature;
+
+    @Mock
+    private LatencyBudget latencyBudget;
+
+    @InjectMocks
+    private LatencyBudgetAspect latencyBudgetAspect;
+
+    @Test
+    void countBreach_whenBudgetExceeded() throws Throwable {   // 허용시간을 넘기면 카운트
+        //given
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getName()).willReturn("useBalance");
+        given(latencyBudget.value()).willReturn(1000L);
+        given(environment.getProperty(anyString(), eq(Long.class), anyLong()))
+                .willReturn(-1L);   // 설정으로 허용시간을 음수로 덮어써서 무조건 초과되도록
+
+        //when
+        latencyBudgetAspect.aroundMethod(proceedingJoinPoint, latencyBudget);
+
+        //then
+        assertEquals(1.0, meterRegistry.counter("latency.budget.breach",
+                "endpoint", "useBalance").count());
+    }
+
+    @Test
+    void notCountBreach_whenWithinBudget() throws Throwable {   // 허용시간 이내면 카운트 하지 않음
+        //given
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getName()).willReturn("cancelBalance");
+        given(latencyBudget.value()).willReturn(1000L);
+        given(environment.getProperty(anyString(), eq(Long.class), anyLong()))
+                .willReturn(60_000L);
+
+        //when
+        latencyBudgetAspect.aroundMethod(proceedingJoinPoint, latencyBudget);
+
+        //then
+        assertEquals(0.0, meterRegistry.counter("latency.budget.breach",
+                "endpoint", "cancelBalance").count());
+    }
+
+    @Test
+    void measureUntilMonoCompletes() throws Throwable {   // 리액티브 엔드포인트는 Mono 가 끝날 때 판단
+        //given
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getName()).willReturn("reactiveUseBalance");
+        given(latencyBudget.value()).willReturn(1000L);
+        given(environment.getProperty(anyString(), eq(Long.class), anyLong()))
+                .willReturn(50L);
+        given(proceedingJoinPoint.proceed())
+                .willReturn(Mono.just("response").delayElement(Duration.ofMillis(200)));
+
+        //when
+        Mono<?> response = (Mono<?>) latencyBudgetAspect.aroundMethod(proceedingJoinPoint, latencyBudget);
+
+        //then
+        assertEquals(0.0, meterRegistry.counter("latency.budget.breach",
+                "endpoint", "reactiveUseBalance").count());   // 반환 시점에는 아직 초과 아님
+        StepVerifier.create(response)
+                .expectNext("response")
+                .verifyComplete();
+        assertEquals(1.0, meterRegistry.counter("latency.budget.breach",
+                "endpoint", "reactiveUseBalance").count());
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.BalanceJournal;
+import com.example.account.domain.BalanceSnapshot;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.BalanceJournalRepository;
+import com.example.account.repository.BalanceSnapshotRepository;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceTest {
+    @Mock
+    private BalanceJournalRepository balanceJournalRepository;
+
+    @Mock
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    private final Account account = Account.builder()
+            .accountNumber("1000000000")
+            .balance(1000L)   // 개설 잔액 (원장 시작점)
+            .build();
+
+    @Test
+    void appendToJournal() {   // 처음 한번만 복구하고 이후는 메모리 잔액으로 원장 추가
+        //given
+        givenNoSnapshot();
+        givenJournalInserted();
+        LedgerService ledgerService = new LedgerService(
+                balanceJournalRepository, balanceSnapshotRepository, 100L, 100L);
+        ArgumentCaptor<BalanceJournal> captor = ArgumentCaptor.forClass(BalanceJournal.class);
+
+        //when
+        long afterUse = ledgerService.use(account, 300L);
+        long afterCancel = ledgerService.cancel(account, 100L);
+
+        //then
+        assertEquals(700L, afterUse);
+        assertEquals(800L, afterCancel);
+        assertEquals(800L, ledgerService.currentBalance(account));
+        assertEquals(1000L, account.getBalance());   // account 행은 바꾸지 않음
+        verify(balanceJournalRepository, times(2)).insertIfAbsent(captor.capture());
+        assertEquals(1L, captor.getAllValues().get(0).getSequence());
+        assertEquals(-300L, captor.getAllValues().get(0).getDelta());
+        assertEquals(USE, captor.getAllValues().get(0).getTransactionType());
+        assertEquals(2L, captor.getAllValues().get(1).getSequence());
+        assertEquals(CANCEL, captor.getAllValues().get(1).getTransactionType());
+        verify(balanceSnapshotRepository, times(1)).findFirstByAccountOrderBySequenceDesc(account);
+        verify(balanceSnapshotRepository, never()).save(any());
+    }
+
+    @Test
+    void exceedBalance() {
+        //given
+        givenNoSnapshot();
+        LedgerService ledgerService = new LedgerService(
+                balanceJournalRepository, balanceSnapshotRepository, 100L, 100L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> ledgerService.use(account, 1001L));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(balanceJournalRepository, never()).insertIfAbsent(any());
+    }
+
+    @Test
+    void snapshotEveryInterval() {
+        //given
+        givenNoSnapshot();
+        givenJournalInserted();
+        LedgerService ledgerService = new LedgerService(
+                balanceJournalRepository, balanceSnapshotRepository, 2L, 100L);
+        ArgumentCaptor<BalanceSnapshot> captor = ArgumentCaptor.forClass(BalanceSnapshot.class);
+
+        //when
+        ledgerService.use(account, 100L);
+        ledgerService.use(account, 100L);   // 2번째 원장에서 스냅샷
+        ledgerService.use(account, 100L);
+
+        //then
+        verify(balanceSnapshotRepository, times(1)).save(captor.capture());
+        assertEquals(2L, captor.getValue().getSequence());
+        assertEquals(800L, captor.getValue().getBalance());
+    }
+
+    @Test
+    void recoverFromSnapshotAndTail() {   // 스냅샷 + 이후 원장만 다시 더함
+        //given
+        givenJournalInserted();
+        given(balanceSnapshotRepository.findFirstByAccountOrderBySequenceDesc(any()))
+                .willReturn(Optional.of(BalanceSnapshot.builder()
+                        .sequence(100L)
+                        .balance(5000L)
+                        .build()));
+        given(balanceJournalRepository.findByAccountAndSequenceGreaterThanOrderBySequence(any(), eq(100L)))
+                .willReturn(Arrays.asList(
+                        BalanceJournal.builder().sequence(101L).delta(-100L).build(),
+                        BalanceJournal.builder().sequence(102L).delta(50L).build()));
+        LedgerService ledgerService = new LedgerService(
+                balanceJournalRepository, balanceSnapshotRepository, 100L, 100L);
+        ArgumentCaptor<BalanceJournal> captor = ArgumentCaptor.forClass(BalanceJournal.class);
+
+        //when
+        long balance = ledgerService.currentBalance(account);
+        ledgerService.use(account, 950L);
+
+        //then
+        assertEquals(4950L, balance);
+        verify(balanceJournalRepository, times(1)).insertIfAbsent(captor.capture());
+        assertEquals(103L, captor.getValue().getSequence());   // 복구한 마지막 순번 다음
+        assertEquals(4000L, captor.getValue().getBalance());
+    }
+
+    @Test
+    void sequenceConflictRecoversAndRetries() {   // 다른 서버가 같은 순번을 먼저 기록 -> 다시 복구해서 다음 순번으로 기록
+        //given
+        given(balanceSnapshotRepository.findFirstByAccountOrderBySequenceDesc(any()))
+                .willReturn(Optional.empty());
+        given(balanceJournalRepository.findByAccountAndSequenceGreaterThanOrderBySequence(any(), anyLong()))
+                .willReturn(Collections.emptyList())
+                .willReturn(Collections.singletonList(   // 다른 서버가 기록한 원장
+                        BalanceJournal.builder().sequence(1L).delta(-200L).build()));
+        given(balanceJournalRepository.insertIfAbsent(any()))
+                .willReturn(false)
+                .willReturn(true);
+        LedgerService ledgerService = new LedgerService(
+                balanceJournalRepository, balanceSnapshotRepository, 100L, 100L);
+        ArgumentCaptor<BalanceJournal> captor = ArgumentCaptor.forClass(BalanceJournal.class);
+
+        //when
+        long balance = ledgerService.use(account, 100L);
+
+        //then
+        assertEquals(700L, balance);   // 다른 서버의 사용분까지 반영
+        verify(balanceSnapshotRepository, times(2)).findFirstByAccountOrderBySequenceDesc(account);   // 메모리 잔액을 버리고 다시 복구
+        verify(balanceJournalRepository, times(2)).insertIfAbsent(captor.capture());
+        assertEquals(2L, captor.getAllValues().get(1).getSequence());
+    }
+
+    @Test
+    void sequenceConflictGivesUpAfterRetries() {
+        //given
+        givenNoSnapshot();
+        given(balanceJournalRepository.insertIfAbsent(any())).willReturn(false);
+        LedgerService ledgerService = new LedgerService(
+                balanceJournalRepository, balanceSnapshotRepository, 100L, 100L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> ledgerService.use(account, 100L));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(balanceJournalRepository, times(3)).insertIfAbsent(any());
+    }
+
+    @Test
+    void balanceAt() {   // 시점 이전 스냅샷 + 그 시점까지의 원장
+        //given
+        LocalDateTime at = LocalDateTime.of(2022, 6, 1, 12, 0);
+        given(balanceSnapshotRepository.findFirstByAccountAndSnapshotAtLessThanEqualOrderBySequenceDesc(any(), eq(at)))
+                .willReturn(Optional.of(BalanceSnapshot.builder()
+                        .sequence(200L)
+                        .balance(3000L)
+                        .build()));
+        given(balanceJournalRepository
+                .findByAccountAndSequenceGreaterThanAndJournaledAtLessThanEqualOrderBySequence(any(), eq(200L), eq(at)))
+                .willReturn(Collections.singletonList(
+                        BalanceJournal.builder().sequence(201L).delta(-500L).build()));
+        LedgerService ledgerService = new LedgerService(
+                balanceJournalRepository, balanceSnapshotRepository, 100L, 100L);
+
+        //when
+        //then
+        assertEquals(2500L, ledgerService.balanceAt(account, at));
+    }
+
+    private void givenJournalInserted() {
+        given(balanceJournalRepository.insertIfAbsent(any())).willReturn(true);
+    }
+
+    private void givenNoSnapshot() {
+        given(balanceSnapshotRepository.findFirstByAccountOrderBySequenceDesc(any()))
+                .willReturn(Optional.empty());
+        given(balanceJournalRepository.findByAccountAndSequenceGreaterThanOrderBySequence(any(), anyLong()))
+                .willReturn(Collections.emptyList());
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.account.service;
 
+import com.example.account.aop.AccountLock;
 import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
 import com.example.account.type.ErrorCode;
+import com.example.account.type.LockMode;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -13,7 +17,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import static com.example.account.type.ErrorCode.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -25,9 +32,29 @@ class LockAopAspectTest {
     @Mock
     private ProceedingJoinPoint proceedingJoinPoint;
 
-    @InjectMocks   // 위의 Mock 2개를 여기에 주입
+    @Mock
+    private Signature signature;
+
+    @Mock
+    private AccountLock accountLock;   // 엔드포인트에 붙은 @AccountLock
+
+    @Mock
+    private AccountLockPolicy accountLockPolicy;
+
+    @InjectMocks   // 위의 Mock 들을 여기에 주입
     private LockAopAspect lockAopAspect;
 
+    @BeforeEach
+    void setUp() {
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getName()).willReturn("useBalance");
+        given(accountLock.tryLockTIme()).willReturn(3000L);
+        given(accountLock.leaseTime()).willReturn(10000L);
+        given(accountLock.mode()).willReturn(LockMode.FAIR);
+        given(accountLockPolicy.requiresLock(anyLong(), anyString(), anyBoolean()))
+                .willReturn(true);   // 락이 필요한 요청
+    }
+
     @Test
     void lockAndUnlock() throws Throwable {    // 락을 수행하고 언락을 하는지 확인
         //given
@@ -39,13 +66,14 @@ class LockAopAspectTest {
                 new UseBalance.Request(123L, "1234", 1000L);
 
         //when
-        lockAopAspect.aroundMethod(proceedingJoinPoint, request);
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
             // lockAopAspect 에서 aroundMethod로 proceedingJoinPoint와 특정 request가 갔을 때
 
         //then
-        verify(lockService, times(1)).lock(lockArgumentCaptor.capture());
-            // lock 될 때 lockArgumentCaptor 가 계좌번호를 캡처
-        verify(lockService, times(1)).unlock(unlockArgumentCaptor.capture());
+        verify(lockService, times(1)).lock(lockArgumentCaptor.capture(),
+                eq(3000L), eq(10000L), eq(LockMode.FAIR), eq("useBalance"));
+            // lock 될 때 lockArgumentCaptor 가 계좌번호를 캡처, 어노테이션의 대기/해제 시간과 방식, 엔드포인트(미터 태그)를 사용
+        verify(lockService, times(1)).unlock(unlockArgumentCaptor.capture(), eq(LockMode.FAIR));
             // unlock 될 때 unlockArgumentCaptor 가 계좌번호를 캡처
         assertEquals("1234", lockArgumentCaptor.getValue());
         assertEquals("1234", unlockArgumentCaptor.getValue());
@@ -64,14 +92,32 @@ class LockAopAspectTest {
                 .willThrow(new AccountException(ACCOUNT_NOT_FOUND));  // ACCOUNT_NOT_FOUND 를 던질 때
         //when
         assertThrows(AccountException.class, ()->
-        lockAopAspect.aroundMethod(proceedingJoinPoint, request));   // 여기서 발생한 익셉션을 잡아줌
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request));   // 여기서 발생한 익셉션을 잡아줌
 
         //then
-        verify(lockService, times(1)).lock(lockArgumentCaptor.capture());
+        verify(lockService, times(1)).lock(lockArgumentCaptor.capture(),
+                anyLong(), anyLong(), any(), anyString());
         // lock 될 때 lockArgumentCaptor 가 계좌번호를 캡처
-        verify(lockService, times(1)).unlock(unlockArgumentCaptor.capture());
+        verify(lockService, times(1)).unlock(unlockArgumentCaptor.capture(), any());
         // unlock 될 때 unlockArgumentCaptor 가 계좌번호를 캡처
         assertEquals("54321", lockArgumentCaptor.getValue());
         assertEquals("54321", unlockArgumentCaptor.getValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    void notProceed_whenLockFailed() throws Throwable {    // 락 취득 실패 시 언락/진행은 하지 않음 (실패 횟수는 LockService 가 기록)
+        //given
+        UseBalance.Request request =
+                new UseBalance.Request(123L, "54321", 1000L);
+        willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+                .given(lockService).lock(anyString(), anyLong(), anyLong(), any(), anyString());
+
+        //when
+        assertThrows(AccountException.class, () ->
+                lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request));
+
+        //then
+        verify(proceedingJoinPoint, never()).proceed();
+        verify(lockService, never()).unlock(anyString(), any());
+    }
+}
@@ -2,17 +2,30 @@ package com.example.account.service;
 
 import com.example.account.exception.AccountException;
 import com.example.account.type.ErrorCode;
+import com.example.account.type.LockMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.redisson.api.RLock;
+import org.redisson.api.RLockReactive;
 import org.redisson.api.RedissonClient;
+import org.redisson.api.RedissonReactiveClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class LockServiceTest {
@@ -22,6 +35,15 @@ class LockServiceTest {
     @Mock
     private RLock rLock;
 
+    @Mock
+    private RedissonReactiveClient redissonReactiveClient;
+
+    @Mock
+    private RLockReactive rLockReactive;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private  LockService lockService;
 
@@ -56,4 +78,123 @@ class LockServiceTest {
         assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
             // excetion에서 발생하는 에러코드는 해당 계좌는 사용중 이다.
     }
-}
\ No newline at end of file
+
+    @Test
+    void releaseLocalLock_whenRedisLockFailed() throws Exception {   // 레디스 락 취득 실패 시 로컬 락도 풀려야 함
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(false)   // 첫번째 시도는 실패하고
+                .willReturn(true);   // 두번째 시도는 성공
+
+        //when
+        assertThrows(AccountException.class, () -> lockService.lock("123"));
+
+        //then
+        assertDoesNotThrow(() -> CompletableFuture
+                .runAsync(() -> lockService.lock("123")).get());   // 다른 스레드에서도 로컬 락을 잡을 수 있음
+    }
+
+    @Test
+    void sameNodeContender_waitsOnLocalLock() throws InterruptedException {   // 같은 노드의 경합은 레디스까지 가지 않음
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(true);
+        lockService.lock("123");   // 이 스레드가 로컬 락 + 레디스 락을 잡고 있는 상태
+
+        //when
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> CompletableFuture.runAsync(() -> lockService.lock("123")).get());
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+                ((AccountException) exception.getCause()).getErrorCode());
+        verify(rLock, times(1)).tryLock(anyLong(), anyLong(), any());   // 레디스 락 시도는 처음 한번 뿐
+    }
+
+    @Test
+    void recordLockMetrics() throws InterruptedException {   // 락 키 단위 대기/점유 시간, 실패 횟수 기록
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(true)
+                .willReturn(false);
+
+        //when
+        lockService.lock("123");
+        lockService.unlock("123");
+        assertThrows(AccountException.class, () -> lockService.lock("123"));
+
+        //then
+        assertEquals(1, meterRegistry.get("redis.lock.wait")
+                .tags("key", "ACLK", "result", "acquired").timer().count());
+        assertEquals(1, meterRegistry.get("redis.lock.hold")
+                .tags("key", "ACLK", "mode", "NON_FAIR").timer().count());
+        assertEquals(1, meterRegistry.get("redis.lock.wait")
+                .tags("key", "ACLK", "result", "failed").timer().count());
+        assertEquals(1.0, meterRegistry.get("redis.lock.failure")
+                .tags("key", "ACLK", "stage", "redis").counter().count());
+    }
+
+    @Test
+    void reactiveLock_sharesKeyAndMetrics() {   // 리액티브 락도 같은 키로 잠그고 같은 미터에 기록
+        //given
+        given(redissonClient.reactive())
+                .willReturn(redissonReactiveClient);
+        given(redissonReactiveClient.getLock("ACLK:123"))
+                .willReturn(rLockReactive);
+        given(rLockReactive.tryLock(anyLong(), anyLong(), any(), eq(7L)))
+                .willReturn(Mono.just(true))
+                .willReturn(Mono.just(false));
+        given(rLockReactive.unlock(7L))
+                .willReturn(Mono.empty());
+
+        //when
+        StepVerifier.create(lockService.lockReactive("123", 7L, 1000L, 15000L, "reactiveUseBalance")
+                        .then(lockService.unlockReactive("123", 7L)))
+                .verifyComplete();
+        StepVerifier.create(lockService.lockReactive("123", 7L, 1000L, 15000L, "reactiveUseBalance"))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.ACCOUNT_TRANSACTION_LOCK)
+                .verify();
+
+        //then
+        assertEquals(1, meterRegistry.get("redis.lock.wait")
+                .tags("key", "ACLK", "endpoint", "reactiveUseBalance", "result", "acquired").timer().count());
+        assertEquals(1, meterRegistry.get("redis.lock.hold")
+                .tags("key", "ACLK", "mode", "NON_FAIR", "endpoint", "reactiveUseBalance").timer().count());
+        assertEquals(1.0, meterRegistry.get("redis.lock.failure")
+                .tags("key", "ACLK", "endpoint", "reactiveUseBalance", "stage", "redis").counter().count());
+        verify(rLockReactive, times(1)).unlock(7L);
+    }
+
+    @Test
+    void recordLockMetricsByEndpoint() throws InterruptedException {   // 호출한 엔드포인트 별로 나눠서 기록
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(true)
+                .willReturn(false);
+
+        //when
+        lockService.lock("123", 1000L, 15000L, LockMode.NON_FAIR, "useBalance");
+        lockService.unlock("123", LockMode.NON_FAIR);
+        assertThrows(AccountException.class,
+                () -> lockService.lock("123", 1000L, 15000L, LockMode.NON_FAIR, "useBalanceBatch"));
+
+        //then
+        assertEquals(1, meterRegistry.get("redis.lock.wait")
+                .tags("endpoint", "useBalance", "result", "acquired").timer().count());
+        assertEquals(1, meterRegistry.get("redis.lock.hold")
+                .tags("endpoint", "useBalance").timer().count());
+        assertEquals(1.0, meterRegistry.get("redis.lock.failure")
+                .tags("endpoint", "useBalanceBatch", "stage", "redis").counter().count());
+        assertTrue(meterRegistry.find("redis.lock.wait")
+                .tags("endpoint", "useBalance", "result", "failed").timers().isEmpty());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ConcurrencyMode;
+import com.example.account.type.ErrorCode;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticRetryAspectTest {
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    private Signature signature;
+
+    @Test
+    void retryUntilSuccess() throws Throwable {   // 버전 충돌이 나면 다시 실행해서 성공
+        //given
+        OptimisticRetryAspect aspect =
+                new OptimisticRetryAspect(ConcurrencyMode.OPTIMISTIC, 3);
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L))
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L))
+                .willReturn("success");   // 세번째 시도에 성공
+
+        //when
+        Object result = aspect.aroundMethod(proceedingJoinPoint);
+
+        //then
+        assertEquals("success", result);
+        verify(proceedingJoinPoint, times(3)).proceed();
+    }
+
+    @Test
+    void retryExhausted() throws Throwable {   // 재시도 횟수를 넘기면 계좌 사용 중 에러
+        //given
+        OptimisticRetryAspect aspect =
+                new OptimisticRetryAspect(ConcurrencyMode.OPTIMISTIC, 2);
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L));
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> aspect.aroundMethod(proceedingJoinPoint));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(proceedingJoinPoint, times(3)).proceed();   // 최초 1번 + 재시도 2번
+    }
+
+    @Test
+    void notRetry_whenNotOptimisticMode() throws Throwable {   // OPTIMISTIC 모드가 아니면 재시도 하지 않음
+        //given
+        OptimisticRetryAspect aspect =
+                new OptimisticRetryAspect(ConcurrencyMode.REDIS_LOCK, 3);
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L));
+
+        //when
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> aspect.aroundMethod(proceedingJoinPoint));
+
+        //then
+        verify(proceedingJoinPoint, times(1)).proceed();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTransactionServiceTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private FailedTransactionRecorder failedTransactionRecorder;
+
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private AccountLockPolicy accountLockPolicy;
+
+    private ReactiveTransactionService reactiveTransactionService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveTransactionService = new ReactiveTransactionService(transactionService,
+                failedTransactionRecorder, lockService, accountLockPolicy, 1000L, 15000L, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactiveTransactionService.shutdown();
+    }
+
+    @Test
+    void useBalanceWithReactiveLock() {   // LockService 로 잠그고 기존 서비스로 처리한 뒤 같은 소유자로 언락
+        //given
+        given(accountLockPolicy.requiresLock(1L, "1000000000", false))
+                .willReturn(true);
+        given(lockService.lockReactive(anyString(), anyLong(), anyLong(), anyLong(), anyString()))
+                .willReturn(Mono.empty());
+        given(lockService.unlockReactive(anyString(), anyLong()))
+                .willReturn(Mono.empty());
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(TransactionDto.builder()
+                        .accontNumber("1000000000")
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .transactionId("transactionId")
+                        .amount(1000L)
+                        .build());
+
+        //when
+        //then
+        StepVerifier.create(reactiveTransactionService.useBalance(1L, "1000000000", 1000L))
+                .assertNext(transactionDto -> assertEquals("transactionId", transactionDto.getTransactionId()))
+                .verifyComplete();
+        ArgumentCaptor<Long> ownerId = ArgumentCaptor.forClass(Long.class);
+        verify(lockService, times(1)).lockReactive(eq("1000000000"), ownerId.capture(),
+                eq(1000L), eq(15000L), eq("reactiveUseBalance"));
+        verify(lockService, timeout(1000).times(1)).unlockReactive("1000000000", ownerId.getValue());
+    }
+
+    @Test
+    void failToGetLock() {   // 락을 못 잡으면 처리하지 않음
+        //given
+        given(accountLockPolicy.requiresLock(anyLong(), anyString(), anyBoolean()))
+                .willReturn(true);
+        given(lockService.lockReactive(anyString(), anyLong(), anyLong(), anyLong(), anyString()))
+                .willReturn(Mono.error(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK)));
+
+        //when
+        //then
+        StepVerifier.create(reactiveTransactionService.useBalance(1L, "1000000000", 1000L))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.ACCOUNT_TRANSACTION_LOCK)
+                .verify();
+        verify(transactionService, never()).useBalance(anyLong(), anyString(), anyLong());
+        verify(lockService, never()).unlockReactive(anyString(), anyLong());
+    }
+
+    @Test
+    void recordFailureAndUnlock() {   // 처리 실패도 실패건 기록 후 언락
+        //given
+        given(accountLockPolicy.requiresLock(anyLong(), anyString(), anyBoolean()))
+                .willReturn(true);
+        given(lockService.lockReactive(anyString(), anyLong(), anyLong(), anyLong(), anyString()))
+                .willReturn(Mono.empty());
+        given(lockService.unlockReactive(anyString(), anyLong()))
+                .willReturn(Mono.empty());
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+        //when
+        //then
+        StepVerifier.create(reactiveTransactionService.useBalance(1L, "1000000000", 1000L))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.AMOUNT_EXCEED_BALANCE)
+                .verify();
+        verify(failedTransactionRecorder, times(1)).record(USE, "1000000000", 1000L);
+        verify(lockService, timeout(1000).times(1)).unlockReactive(eq("1000000000"), anyLong());
+    }
+
+    @Test
+    void cancelHotAccountWithoutLock() {   // 서블릿 경로와 같이 분할된 계좌 취소는 락 없이 처리
+        //given
+        given(accountLockPolicy.requiresLock(null, "1000000000", true))
+                .willReturn(false);
+        given(transactionService.cancelBalance(anyString(), anyString(), anyLong()))
+                .willReturn(TransactionDto.builder()
+                        .accontNumber("1000000000")
+                        .transactionType(CANCEL)
+                        .transactionResultType(S)
+                        .transactionId("cancelTransactionId")
+                        .amount(1000L)
+                        .build());
+
+        //when
+        //then
+        StepVerifier.create(reactiveTransactionService.cancelBalance("transactionId", "1000000000", 1000L))
+                .assertNext(transactionDto -> assertEquals("cancelTransactionId", transactionDto.getTransactionId()))
+                .verifyComplete();
+        verify(lockService, never()).lockReactive(anyString(), anyLong(), anyLong(), anyLong(), anyString());
+    }
+}
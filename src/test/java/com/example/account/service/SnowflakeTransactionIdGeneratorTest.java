@@ -0,0 +1,120 @@
+package com.example.account.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.account.service.SnowflakeTransactionIdGenerator.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeTransactionIdGeneratorTest {
+    @Test
+    void idsAreSortedByIssueOrder() {   // 고정 길이라 문자열 비교 순서 = 발급 순서
+        //given
+        SnowflakeTransactionIdGenerator generator = new SnowflakeTransactionIdGenerator(7L);
+
+        //when
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        //then
+        for (int i = 1; i < ids.size(); i++) {
+            assertEquals(13, ids.get(i).length());
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+        }
+    }
+
+    @Test
+    void layoutHasTimeNodeAndSequence() {
+        //given
+        SnowflakeTransactionIdGenerator generator = new FixedClockGenerator(5L, EPOCH + 1000L);
+
+        //when
+        long first = generator.nextLong();
+        long second = generator.nextLong();
+
+        //then
+        assertEquals(1000L, first >>> (NODE_ID_BITS + SEQUENCE_BITS));   // 기준 시각 이후 ms
+        assertEquals(5L, (first >>> SEQUENCE_BITS) & MAX_NODE_ID);   // 노드 id
+        assertEquals(0L, first & ((1L << SEQUENCE_BITS) - 1));   // 순번
+        assertEquals(1L, second & ((1L << SEQUENCE_BITS) - 1));   // 같은 ms 면 순번만 증가
+    }
+
+    @Test
+    void monotonicWhenClockGoesBackOrSequenceOverflows() {
+        //given
+        FixedClockGenerator generator = new FixedClockGenerator(0L, EPOCH + 1000L);
+        long last = 0;
+        for (int i = 0; i < (1 << SEQUENCE_BITS) + 10; i++) {   // 한 ms 에 4096개 초과 -> 다음 ms 를 빌려 씀
+            long id = generator.nextLong();
+            assertTrue(id > last);
+            last = id;
+        }
+
+        //when
+        generator.clock.set(EPOCH + 500L);   // 시계가 뒤로 감
+        long afterClockBack = generator.nextLong();
+
+        //then
+        assertTrue(afterClockBack > last);
+    }
+
+    @Test
+    void uniqueAcrossThreads() throws InterruptedException {
+        //given
+        SnowflakeTransactionIdGenerator generator = new SnowflakeTransactionIdGenerator(1L);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        //when
+        for (int i = 0; i < 8; i++) {
+            executorService.submit(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        //then
+        assertEquals(80_000, ids.size());
+    }
+
+    @Test
+    void invalidNodeId() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeTransactionIdGenerator(MAX_NODE_ID + 1));
+    }
+
+    @Test
+    void nodeIdRequiredWithoutRedis() {   // 노드 id 도 임대할 레디스도 없으면 기본값으로 시작하지 않음
+        assertThrows(IllegalStateException.class,
+                () -> new SnowflakeTransactionIdGenerator(null,
+                        new StaticListableBeanFactory().getBeanProvider(TransactionNodeIdLease.class)));
+    }
+
+    private static class FixedClockGenerator extends SnowflakeTransactionIdGenerator {
+        private final AtomicLong clock;
+
+        FixedClockGenerator(long nodeId, long millis) {
+            super(nodeId);
+            this.clock = new AtomicLong(millis);
+        }
+
+        @Override
+        long currentTimeMillis() {
+            return clock.get();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.AccountInfo;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.TransactionHistoryDto;
+import com.example.account.exception.AccountException;
+import com.example.account.support.StatementCounter;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest   // 레디스 없이 JPA 관련 빈만 띄우고 서비스를 직접 올림
+@Import({AccountService.class, TransactionService.class, TransactionHistoryService.class,
+        SnowflakeTransactionIdGenerator.class, LedgerService.class, HotAccountService.class,
+        AccountSummaryCache.class})
+@TestPropertySource(properties = "account.transaction-id.node-id=0")   // 레디스 없이 고정 노드 id
+class StatementCountTest {   // 기능별로 실행되는 SQL 개수를 고정
+    @MockBean
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @MockBean
+    private TransactionCache transactionCache;   // 캐시는 항상 미스 (DB 조회 개수만 확인)
+
+    @MockBean
+    private AccountOwnershipCache accountOwnershipCache;   // 레디스 토픽을 구독하므로 목으로 대체 (사전 확인 없음)
+
+    @MockBean(answer = Answers.RETURNS_MOCKS)
+    private RedissonClient redissonClient;   // 계좌 목록 캐시의 무효화 토픽 (구독, 발행만 하고 받지 않음)
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionHistoryService transactionHistoryService;
+
+    @Autowired
+    private AccountSummaryCache accountSummaryCache;
+
+    private StatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        statementCounter = new StatementCounter(entityManager.getEntityManager().getEntityManagerFactory());
+        accountSummaryCache.invalidateAll();   // 다른 테스트에서 채운 계좌 목록을 비움
+
+        AccountUser user = entityManager.find(AccountUser.class, 1L);   // data.sql 로 들어간 사용자
+        for (int i = 0; i < 3; i++) {
+            Account account = entityManager.persist(Account.builder()
+                    .accountUser(user)
+                    .accountStatus(IN_USE)
+                    .accountNumber("100000000" + i)
+                    .balance(10000L)
+                    .registeredAt(LocalDateTime.now())
+                    .build());
+            entityManager.persist(Transaction.builder()
+                    .account(account)
+                    .transactionType(USE)
+                    .transactionResultType(S)
+                    .transactionId("trxId" + i)
+                    .amount(1000L)
+                    .balanceSnapshot(9000L)
+                    .transactedAt(LocalDateTime.now())
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();   // 영속성 컨텍스트를 비워서 실제 조회 쿼리를 셈
+    }
+
+    @Test
+    void queryTransaction() {   // 거래 + 계좌 조인 1번 (사용자는 로딩하지 않음)
+        statementCounter.assertStatementCount(1, () -> {
+            TransactionDto transactionDto = transactionService.queryTransaction("trxId0");
+            assertEquals("1000000000", transactionDto.getAccontNumber());
+        });
+    }
+
+    @Test
+    void getAccountInfosByUserId() {   // 사용자 존재 확인 1번 + 계좌 프로젝션 1번 (계좌 개수와 무관)
+        statementCounter.assertStatementCount(2, () -> {
+            List<AccountInfo> accountInfos = accountService.getAccountInfosByUserId(1L);
+            assertEquals(3, accountInfos.size());
+        });
+    }
+
+    @Test
+    void getAccountInfosByUserId_cached() {   // 두 번째 조회부터는 쿼리 없음
+        accountService.getAccountInfosByUserId(1L);
+
+        statementCounter.assertStatementCount(0, () -> {
+            List<AccountInfo> accountInfos = accountService.getAccountInfosByUserId(1L);
+            assertEquals(3, accountInfos.size());
+        });
+    }
+
+    @Test
+    void cancelBalanceValidation() {   // 거래 + 계좌 조인 1번 + 계좌번호 조회 1번 (소유주 로딩 없음)
+        statementCounter.assertStatementCount(2, () -> {
+            AccountException exception = assertThrows(AccountException.class,
+                    () -> transactionService.cancelBalance("trxId0", "1000000000", 500L));
+            assertEquals(ErrorCode.CANCEL_MUST_FULLY, exception.getErrorCode());
+        });
+    }
+
+    @Test
+    void getTransactionHistory() {   // 계좌 조회 1번 + 키셋 페이지 1번 (거래마다 계좌를 다시 읽지 않음)
+        statementCounter.assertStatementCount(2, () -> {
+            TransactionHistoryDto page = transactionHistoryService.getTransactionHistory("1000000000",
+                    new TransactionHistory.Condition(), null, 20);
+            assertEquals(1, page.getTransactions().size());
+            assertNull(page.getNextCursor());
+        });
+    }
+}
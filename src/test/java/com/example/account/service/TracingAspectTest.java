@@ -0,0 +1,116 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class TracingAspectTest {
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    private Signature signature;
+
+    private final InMemorySpanExporter spanExporter = InMemorySpanExporter.create();   // 끝난 span 을 메모리에 모아둠
+
+    private TracingAspect tracingAspect;
+
+    @BeforeEach
+    void setUp() {
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                .build();
+        tracingAspect = new TracingAspect(tracerProvider.get("test"));
+    }
+
+    @Test
+    void lockSpan_hasAccountNumber() throws Throwable {   // 락 취득 span 에 계좌번호 기록
+        //given
+        //when
+        tracingAspect.traceLock(proceedingJoinPoint, "1000000012");
+
+        //then
+        SpanData span = spanExporter.getFinishedSpanItems().get(0);
+        assertEquals("lock.acquire", span.getName());
+        assertEquals("1000000012", span.getAttributes().get(AttributeKey.stringKey("account.number")));
+        assertEquals(StatusCode.UNSET, span.getStatus().getStatusCode());
+    }
+
+    @Test
+    void lockSpan_recordsFailure() throws Throwable {   // 락 취득 실패는 에러코드와 함께 에러 span
+        //given
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+
+        //when
+        assertThrows(AccountException.class,
+                () -> tracingAspect.traceLock(proceedingJoinPoint, "1000000012"));
+
+        //then
+        SpanData span = spanExporter.getFinishedSpanItems().get(0);
+        assertEquals(StatusCode.ERROR, span.getStatus().getStatusCode());
+        assertEquals("ACCOUNT_TRANSACTION_LOCK", span.getAttributes().get(AttributeKey.stringKey("error.code")));
+    }
+
+    @Test
+    void reactiveLockSpan_endsWhenLockCompletes() throws Throwable {   // 리액티브 락은 구독 후 락 결과가 나올 때 span 종료
+        //given
+        given(proceedingJoinPoint.proceed())
+                .willReturn(Mono.error(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK)));
+
+        //when
+        Mono<?> lock = (Mono<?>) tracingAspect.traceReactiveLock(proceedingJoinPoint, "1000000012");
+
+        //then
+        assertTrue(spanExporter.getFinishedSpanItems().isEmpty());   // 구독 전에는 span 이 없음
+        StepVerifier.create(lock)
+                .expectError(AccountException.class)
+                .verify();
+        SpanData span = spanExporter.getFinishedSpanItems().get(0);
+        assertEquals("lock.acquire", span.getName());
+        assertEquals(StatusCode.ERROR, span.getStatus().getStatusCode());
+        assertEquals("ACCOUNT_TRANSACTION_LOCK", span.getAttributes().get(AttributeKey.stringKey("error.code")));
+    }
+
+    @Test
+    void serviceSpan_nestedInCurrentSpan() throws Throwable {   // 요청 span 아래에 서비스 span 이 이어짐
+        //given
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getName()).willReturn("useBalance");
+        Span parent = SdkTracerProvider.builder().build().get("test").spanBuilder("POST /transaction/use").startSpan();
+
+        //when
+        try (Scope ignored = parent.makeCurrent()) {
+            tracingAspect.traceTransactionService(proceedingJoinPoint);
+        }
+
+        //then
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        assertEquals(1, spans.size());
+        assertEquals("TransactionService.useBalance", spans.get(0).getName());
+        assertEquals(parent.getSpanContext().getTraceId(), spans.get(0).getTraceId());
+        assertEquals(parent.getSpanContext().getSpanId(), spans.get(0).getParentSpanId());
+    }
+}
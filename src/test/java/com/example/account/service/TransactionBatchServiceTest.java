@@ -0,0 +1,102 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ConcurrencyMode;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.LockMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.example.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private LockService lockService;
+
+    private TransactionBatchService transactionBatchService;
+
+    @BeforeEach
+    void setUp() {
+        transactionBatchService = new TransactionBatchService(transactionService, lockService,
+                ConcurrencyMode.REDIS_LOCK, 1000L, 15000L);
+    }
+
+    @Test
+    void lockOncePerAccount_andKeepRequestOrder() {   // 계좌 별로 한번만 락, 결과는 요청 순서대로
+        //given
+        List<UseBalance.Request> requests = Arrays.asList(
+                new UseBalance.Request(1L, "1000000000", 100L),
+                new UseBalance.Request(1L, "1000000001", 200L),
+                new UseBalance.Request(1L, "1000000000", 300L));
+        given(transactionService.useBalanceGroup(eq("1000000000"), anyList()))
+                .willReturn(Arrays.asList(success("1000000000", 100L), success("1000000000", 300L)));
+        given(transactionService.useBalanceGroup(eq("1000000001"), anyList()))
+                .willReturn(Collections.singletonList(success("1000000001", 200L)));
+
+        //when
+        List<UseBalanceBatch.ItemResult> results = transactionBatchService.useBalanceBatch(requests);
+
+        //then
+        verify(lockService, times(1)).lock("1000000000", 1000L, 15000L, LockMode.NON_FAIR, "useBalanceBatch");
+        verify(lockService, times(1)).lock("1000000001", 1000L, 15000L, LockMode.NON_FAIR, "useBalanceBatch");
+        verify(lockService, times(1)).unlock("1000000000", LockMode.NON_FAIR);
+        verify(lockService, times(1)).unlock("1000000001", LockMode.NON_FAIR);
+        assertEquals(100L, results.get(0).getResponse().getAmount());
+        assertEquals(200L, results.get(1).getResponse().getAmount());
+        assertEquals(300L, results.get(2).getResponse().getAmount());
+    }
+
+    @Test
+    void failGroup_whenLockFailed() {   // 락을 못 잡은 계좌의 건들만 실패
+        //given
+        List<UseBalance.Request> requests = Arrays.asList(
+                new UseBalance.Request(1L, "1000000000", 100L),
+                new UseBalance.Request(1L, "1000000001", 200L));
+        willAnswer(invocation -> {   // 1000000000 계좌는 다른 요청이 락을 잡고 있음
+            if ("1000000000".equals(invocation.getArgument(0))) {
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+            return null;
+        }).given(lockService).lock(anyString(), anyLong(), anyLong(), any(), anyString());
+        given(transactionService.useBalanceGroup(eq("1000000001"), anyList()))
+                .willReturn(Collections.singletonList(success("1000000001", 200L)));
+
+        //when
+        List<UseBalanceBatch.ItemResult> results = transactionBatchService.useBalanceBatch(requests);
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, results.get(0).getError().getErrorCode());
+        assertEquals(200L, results.get(1).getResponse().getAmount());
+        verify(transactionService, never()).useBalanceGroup(eq("1000000000"), anyList());
+        verify(lockService, never()).unlock(eq("1000000000"), any());   // 잡지 못한 락은 풀지 않음
+    }
+
+    private static UseBalanceBatch.ItemResult success(String accountNumber, Long amount) {
+        return UseBalanceBatch.ItemResult.success(TransactionDto.builder()
+                .accontNumber(accountNumber)
+                .transactionResultType(S)
+                .amount(amount)
+                .build());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionCacheTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RBucket<Object> bucket;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void localHitAndMiss() {
+        //given
+        TransactionCache transactionCache = new TransactionCache(
+                redissonClient, meterRegistry, 10L, 60L, false, 60L);
+        transactionCache.put(transactionDto("trxId"));
+
+        //when
+        //then
+        assertEquals(200L, transactionCache.get("trxId").get().getAmount());
+        assertFalse(transactionCache.get("otherTrxId").isPresent());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+        verifyNoInteractions(redissonClient);   // 레디스 2차 캐시 사용 안함
+    }
+
+    @Test
+    void redisSecondTier() {   // 로컬에 없으면 레디스에서 찾고 로컬에도 채움
+        //given
+        given(redissonClient.getBucket(anyString())).willReturn(bucket);
+        given(bucket.get()).willReturn(transactionDto("trxId"));
+        TransactionCache transactionCache = new TransactionCache(
+                redissonClient, meterRegistry, 10L, 60L, true, 60L);
+
+        //when
+        TransactionDto first = transactionCache.get("trxId").get();
+        TransactionDto second = transactionCache.get("trxId").get();
+
+        //then
+        assertEquals("trxId", first.getTransactionId());
+        assertSame(first, second);
+        verify(redissonClient, times(1)).getBucket("TRX:trxId");   // 두번째는 로컬에서 적중
+    }
+
+    @Test
+    void putWritesToRedis() {
+        //given
+        given(redissonClient.getBucket(anyString())).willReturn(bucket);
+        TransactionCache transactionCache = new TransactionCache(
+                redissonClient, meterRegistry, 10L, 60L, true, 3600L);
+        TransactionDto transactionDto = transactionDto("trxId");
+
+        //when
+        transactionCache.put(transactionDto);
+
+        //then
+        verify(bucket, times(1)).set(transactionDto, 3600L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void redisFailureIsMiss() {   // 레디스 장애 시 예외 대신 미스 처리 (DB 에서 조회)
+        //given
+        given(redissonClient.getBucket(anyString())).willThrow(new RuntimeException("redis down"));
+        TransactionCache transactionCache = new TransactionCache(
+                redissonClient, meterRegistry, 10L, 60L, true, 60L);
+
+        //when
+        //then
+        assertFalse(transactionCache.get("trxId").isPresent());
+    }
+
+    private TransactionDto transactionDto(String transactionId) {
+        return TransactionDto.builder()
+                .accontNumber("1000000012")
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId(transactionId)
+                .amount(200L)
+                .balanceSnapshot(9800L)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+}
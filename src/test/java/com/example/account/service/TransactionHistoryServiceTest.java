@@ -0,0 +1,159 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.TransactionHistoryDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionHistoryServiceTest {
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private TransactionHistoryService transactionHistoryService;
+
+    private final LocalDateTime now = LocalDateTime.of(2022, 6, 1, 12, 0);
+
+    @Test
+    void firstPageWithNextCursor() {   // size 보다 한 건 더 있으면 마지막 건 위치로 다음 커서를 만듦
+        //given
+        givenAccount();
+        given(transactionRepository.findHistory(anyLong(), any(), any(), any(), any(),
+                any(), any(), anyInt()))
+                .willReturn(Arrays.asList(
+                        transaction(3L, now), transaction(2L, now), transaction(1L, now.minusMinutes(1))));
+
+        //when
+        TransactionHistoryDto page = transactionHistoryService.getTransactionHistory(
+                "1000000000", new TransactionHistory.Condition(), null, 2);
+
+        //then
+        verify(transactionRepository, times(1)).findHistory(eq(1L), isNull(), isNull(), isNull(), isNull(),
+                isNull(), isNull(), eq(3));   // 첫 페이지는 커서 조건 없음, 다음 페이지 확인용으로 한 건 더
+        assertEquals(2, page.getTransactions().size());
+        assertEquals("trxId3", page.getTransactions().get(0).getTransactionId());
+        TransactionHistoryService.Cursor cursor =
+                TransactionHistoryService.Cursor.decode(page.getNextCursor());
+        assertEquals(now, cursor.getTransactedAt());   // 같은 시각이면 id 로 이어서 읽음
+        assertEquals(2L, cursor.getId());
+    }
+
+    @Test
+    void nextPageUsesCursor() {
+        //given
+        givenAccount();
+        given(transactionRepository.findHistory(anyLong(), any(), any(), any(), any(),
+                any(), any(), anyInt()))
+                .willReturn(Arrays.asList(transaction(1L, now.minusMinutes(1))));
+        String cursor = new TransactionHistoryService.Cursor(now, 2L).encode();
+
+        //when
+        TransactionHistoryDto page = transactionHistoryService.getTransactionHistory(
+                "1000000000", new TransactionHistory.Condition(), cursor, 2);
+
+        //then
+        verify(transactionRepository, times(1)).findHistory(eq(1L), any(), any(), any(), any(),
+                eq(now), eq(2L), eq(3));
+        assertEquals(1, page.getTransactions().size());
+        assertNull(page.getNextCursor());   // 마지막 페이지
+    }
+
+    @Test
+    void invalidCursor() {
+        //given
+        givenAccount();
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionHistoryService.getTransactionHistory(
+                        "1000000000", new TransactionHistory.Condition(), "not-a-cursor", 20));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    @Test
+    void invalidPageSize() {
+        //given
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionHistoryService.getTransactionHistory(
+                        "1000000000", new TransactionHistory.Condition(), null, 101));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    @Test
+    void exportDetachesEachRow() {   // 넘긴 엔티티는 바로 떼어내서 영속성 컨텍스트에 쌓이지 않음
+        //given
+        Transaction first = transaction(1L, now.minusMinutes(1));
+        Transaction second = transaction(2L, now);
+        given(transactionRepository.streamHistory(anyLong(), any(), any(), any(), any()))
+                .willReturn(Stream.of(first, second));
+        List<TransactionDto> exported = new ArrayList<>();
+
+        //when
+        transactionHistoryService.exportTransactions(1L, new TransactionHistory.Condition(), exported::add);
+
+        //then
+        assertEquals(2, exported.size());
+        assertEquals("trxId1", exported.get(0).getTransactionId());
+        verify(entityManager, times(1)).detach(first);
+        verify(entityManager, times(1)).detach(second);
+    }
+
+    private void givenAccount() {
+        Account account = Account.builder()
+                .accountNumber("1000000000").build();
+        account.setId(1L);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+    }
+
+    private Transaction transaction(Long id, LocalDateTime transactedAt) {
+        Transaction transaction = Transaction.builder()
+                .account(Account.builder().accountNumber("1000000000").build())
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("trxId" + id)
+                .amount(1000L)
+                .transactedAt(transactedAt)
+                .build();
+        transaction.setId(id);
+        return transaction;
+    }
+}
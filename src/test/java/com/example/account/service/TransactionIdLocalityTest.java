@@ -0,0 +1,80 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * transaction_id 유니크 인덱스에 INSERT 가 어디로 들어가는지 비교
+ * 새 id 가 지금까지의 최댓값보다 크면 인덱스 맨 오른쪽 끝에 붙음 (페이지 분할, 랜덤 I/O 없음)
+ */
+@DataJpaTest
+class TransactionIdLocalityTest {
+    private static final int ROWS = 2000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void snowflakeAppendsToIndexEnd() {
+        assertEquals(1.0, rightEdgeInsertRatio(new SnowflakeTransactionIdGenerator(0L)));
+    }
+
+    @Test
+    void uuidScattersAcrossIndex() {   // 랜덤 id 는 대부분 인덱스 중간에 끼어듦
+        assertTrue(rightEdgeInsertRatio(new UuidTransactionIdGenerator()) < 0.05);
+    }
+
+    private double rightEdgeInsertRatio(TransactionIdGenerator transactionIdGenerator) {
+        Account account = entityManager.persist(Account.builder()
+                .accountUser(entityManager.find(AccountUser.class, 1L))
+                .accountStatus(IN_USE)
+                .accountNumber("1000000000")
+                .balance(10000L)
+                .build());
+        for (int i = 0; i < ROWS; i++) {
+            transactionRepository.save(Transaction.builder()
+                    .account(account)
+                    .transactionType(USE)
+                    .transactionResultType(S)
+                    .transactionId(transactionIdGenerator.nextId())
+                    .amount(100L)
+                    .balanceSnapshot(10000L)
+                    .transactedAt(LocalDateTime.now())
+                    .build());
+        }
+        entityManager.flush();
+
+        List<String> idsInInsertOrder = jdbcTemplate.queryForList(   // id(시퀀스) 순서 = INSERT 순서
+                "select transaction_id from transaction order by id", String.class);
+        String max = "";
+        int rightEdgeInserts = 0;
+        for (String transactionId : idsInInsertOrder) {
+            if (transactionId.compareTo(max) > 0) {
+                rightEdgeInserts++;
+                max = transactionId;
+            }
+        }
+        return (double) rightEdgeInserts / idsInInsertOrder.size();
+    }
+}
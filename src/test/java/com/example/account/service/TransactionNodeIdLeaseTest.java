@@ -0,0 +1,82 @@
+package com.example.account.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionNodeIdLeaseTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RAtomicLong cursor;
+
+    @Mock
+    private RBucket<Object> takenBucket;
+
+    @Mock
+    private RBucket<Object> freeBucket;
+
+    @Test
+    void skipNodeIdInUse() {   // 다른 인스턴스가 잡고 있는 노드 id 는 건너뜀
+        //given
+        TransactionNodeIdLease lease = new TransactionNodeIdLease(redissonClient, 60);
+        given(redissonClient.getAtomicLong(TransactionNodeIdLease.CURSOR_KEY)).willReturn(cursor);
+        given(cursor.getAndIncrement()).willReturn(1023L);
+        given(redissonClient.getBucket(eq("TRID:NODE:1023"), any())).willReturn(takenBucket);
+        given(redissonClient.getBucket(eq("TRID:NODE:0"), any())).willReturn(freeBucket);
+        given(takenBucket.trySet(any(), eq(60L), eq(TimeUnit.SECONDS))).willReturn(false);
+        given(freeBucket.trySet(any(), eq(60L), eq(TimeUnit.SECONDS))).willReturn(true);
+
+        //when
+        long nodeId = lease.acquire(1023);
+        lease.release();
+
+        //then
+        assertEquals(0L, nodeId);   // 끝까지 가면 0 부터 다시 찾음
+    }
+
+    @Test
+    void failWhenAllNodeIdsInUse() {
+        //given
+        TransactionNodeIdLease lease = new TransactionNodeIdLease(redissonClient, 60);
+        given(redissonClient.getAtomicLong(TransactionNodeIdLease.CURSOR_KEY)).willReturn(cursor);
+        given(cursor.getAndIncrement()).willReturn(0L);
+        given(redissonClient.getBucket(anyString(), any())).willReturn(takenBucket);
+        given(takenBucket.trySet(any(), eq(60L), eq(TimeUnit.SECONDS))).willReturn(false);
+
+        //when
+        //then
+        assertThrows(IllegalStateException.class, () -> lease.acquire(3));
+    }
+
+    @Test
+    void releaseOwnLease() {   // 종료 시 자신이 잡은 키만 지움
+        //given
+        TransactionNodeIdLease lease = new TransactionNodeIdLease(redissonClient, 60);
+        given(redissonClient.getAtomicLong(TransactionNodeIdLease.CURSOR_KEY)).willReturn(cursor);
+        given(cursor.getAndIncrement()).willReturn(5L);
+        given(redissonClient.getBucket(eq("TRID:NODE:5"), any())).willReturn(freeBucket);
+        given(freeBucket.trySet(any(), eq(60L), eq(TimeUnit.SECONDS))).willReturn(true);
+        lease.acquire(1023);
+        given(freeBucket.get()).willAnswer(invocation -> lease.owner());
+
+        //when
+        lease.release();
+
+        //then
+        verify(freeBucket).delete();
+    }
+}
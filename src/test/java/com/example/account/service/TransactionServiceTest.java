@@ -3,12 +3,17 @@ package com.example.account.service;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
+import com.example.account.dto.FailedTransaction;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
+import com.example.account.type.BalanceMode;
+import com.example.account.type.ConcurrencyMode;
 import com.example.account.type.ErrorCode;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
@@ -19,8 +24,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static com.example.account.type.AccountStatus.*;
@@ -29,6 +37,7 @@ import static com.example.account.type.TransactionType.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -47,6 +56,24 @@ class TransactionServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private TransactionCache transactionCache;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private HotAccountService hotAccountService;   // 기본은 분할 안 된 계좌
+
+    @Mock
+    private AccountSummaryCache accountSummaryCache;
+
+    @Mock
+    private AccountOwnershipCache accountOwnershipCache;   // 기본은 캐시로 판단할 수 없음 (원래 검증)
+
     @InjectMocks
     private TransactionService transactionService;  // transactionService 에 주입
 
@@ -57,12 +84,12 @@ class TransactionServiceTest {
         AccountUser user = AccountUser.builder()  // 사용될 변수 user
                 .name("Pobi").build();
         user.setId(12L);
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountRepository.useBalanceIfAvailable(anyString(), anyLong(), anyLong(), any()))
+                .willReturn(1);   // 조건부 UPDATE 로 차감 성공
         Account account = Account.builder()
                 .accountUser(user)  // 위와 동일한 유저여야 함
                 .accountStatus(IN_USE)
-                .balance(10000L)  // 잔액은 만원으로 설정
+                .balance(9800L)  // 잔액 만원에서 이미 200원이 차감된 상태로 다시 조회됨
                 .accountNumber("1000000012").build();
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
@@ -90,6 +117,110 @@ class TransactionServiceTest {
         assertEquals(USE, transactionDto.getTransactionType());   // 계좌 잔액 사용
         assertEquals(9000L, transactionDto.getBalanceSnapshot()); // 남은 잔액
         assertEquals(1000L, transactionDto.getAmount());  // 사용 금액
+        verify(accountUserRepository, times(0)).findById(anyLong());   // 빠른 경로에서는 사용자 조회를 하지 않음
+    }
+
+    @Test
+    @DisplayName("비관적 락 모드 - FOR UPDATE 로 계좌 조회")
+    void useBalance_pessimisticMode() {
+        //given
+        ReflectionTestUtils.setField(transactionService,
+                "concurrencyMode", ConcurrencyMode.PESSIMISTIC);
+        AccountUser user = AccountUser.builder()
+                .name("Pobi").build();
+        user.setId(12L);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build();
+        given(accountRepository.findByAccountNumberForUpdate(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));   // 저장한 그대로 돌려줌
+
+        //when
+        TransactionDto transactionDto = transactionService.useBalance(1L,
+                "1000000012", USE_AMOUNT);
+
+        //then
+        verify(accountRepository, times(0)).findByAccountNumber(anyString());   // 락 없는 조회는 하지 않음
+        assertEquals(9800L, transactionDto.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("LEDGER 모드 - account 행은 바꾸지 않고 원장에 추가")
+    void useBalance_ledgerMode() {
+        //given
+        ReflectionTestUtils.setField(transactionService,
+                "balanceMode", BalanceMode.LEDGER);
+        AccountUser user = AccountUser.builder()
+                .name("Pobi").build();
+        user.setId(12L);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)   // 개설 잔액
+                .accountNumber("1000000012").build();
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(ledgerService.currentBalance(any()))
+                .willReturn(5000L, 4800L);   // 검증 시 원장 잔액, 기록 시 차감 후 잔액
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        TransactionDto transactionDto = transactionService.useBalance(1L,
+                "1000000012", USE_AMOUNT);
+
+        //then
+        verify(accountRepository, times(0)).useBalanceIfAvailable(anyString(), anyLong(), anyLong(), any());
+        verify(ledgerService, times(1)).use(account, USE_AMOUNT);
+        assertEquals(10000L, account.getBalance());
+        assertEquals(4800L, transactionDto.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("같은 계좌 여러 건 - 순서대로 차감, 실패건도 기록")
+    void useBalanceGroup() {
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("Pobi").build();
+        user.setId(12L);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(1000L)  // 잔액 천원
+                .accountNumber("1000000012").build();
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));   // 저장한 그대로 돌려줌
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        List<UseBalanceBatch.ItemResult> results = transactionService.useBalanceGroup("1000000012",
+                Arrays.asList(
+                        new UseBalance.Request(12L, "1000000012", 700L),   // 성공 -> 잔액 300원
+                        new UseBalance.Request(12L, "1000000012", 500L),   // 잔액 부족으로 실패
+                        new UseBalance.Request(12L, "1000000012", 300L))); // 성공 -> 잔액 0원
+
+        //then
+        verify(accountUserRepository, times(1)).findById(12L);   // 같은 사용자는 한번만 조회
+        verify(transactionRepository, times(3)).save(captor.capture());
+        assertEquals(S, captor.getAllValues().get(0).getTransactionResultType());
+        assertEquals(F, captor.getAllValues().get(1).getTransactionResultType());   // 실패건 기록
+        assertEquals(S, captor.getAllValues().get(2).getTransactionResultType());
+        assertEquals(0L, account.getBalance());
+        assertEquals(700L, results.get(0).getResponse().getAmount());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, results.get(1).getError().getErrorCode());
+        assertEquals(300L, results.get(2).getResponse().getAmount());
     }
 
     @Test
@@ -231,6 +362,8 @@ class TransactionServiceTest {
                         .amount(1000L)     // 천원 사용
                         .balanceSnapshot(9000L)    // 잔액(9000원) 스냅샷 찍음
                         .build());
+        given(transactionIdGenerator.nextId())
+                .willReturn("0G8Z3X1Q2W000");   // 발급기에서 받은 id 로 저장
         ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
 
         //when
@@ -242,6 +375,43 @@ class TransactionServiceTest {
         assertEquals(USE_AMOUNT, captor.getValue().getAmount());  // 넣어줬던 amount값(200)과 저장된 내용 중 Amount 값이 동일할 것
         assertEquals(10000L, captor.getValue().getBalanceSnapshot());  // account의 초기 balance와 거래 후 잔액이 같아야 할 것 (차감 안됨)
         assertEquals(F, captor.getValue().getTransactionResultType());  // 실패
+        assertEquals("0G8Z3X1Q2W000", captor.getValue().getTransactionId());
+    }
+
+    @Test
+    @DisplayName("모아둔 실패 거래 일괄 저장")
+    void saveFailedTransactions() {
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("Pobi").build();
+        user.setId(12L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build();
+        given(accountRepository.findByAccountNumber("1000000012"))
+                .willReturn(Optional.of(account));
+        given(accountRepository.findByAccountNumber("1000000099"))
+                .willReturn(Optional.empty());   // 없는 계좌
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));   // 저장한 그대로 돌려줌
+        LocalDateTime failedAt = LocalDateTime.now().minusSeconds(5);
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        transactionService.saveFailedTransactions(Arrays.asList(
+                new FailedTransaction(USE, "1000000012", 100L, failedAt),
+                new FailedTransaction(CANCEL, "1000000012", 200L, failedAt),
+                new FailedTransaction(USE, "1000000099", 300L, failedAt)));
+
+        //then
+        verify(accountRepository, times(1)).findByAccountNumber("1000000012");   // 같은 계좌는 한번만 조회
+        verify(transactionRepository, times(2)).save(captor.capture());   // 없는 계좌는 기록 포기
+        assertEquals(USE, captor.getAllValues().get(0).getTransactionType());
+        assertEquals(CANCEL, captor.getAllValues().get(1).getTransactionType());
+        assertEquals(F, captor.getAllValues().get(1).getTransactionResultType());
+        assertEquals(failedAt, captor.getAllValues().get(1).getTransactedAt());   // 실패한 시점으로 기록
     }
 
     @Test
@@ -295,6 +465,49 @@ class TransactionServiceTest {
         assertEquals(CANCEL_AMOUNT, transactionDto.getAmount());
     }
 
+    @Test
+    @DisplayName("분할된 핫 계좌 - account 행 대신 슬롯에 입금")
+    void cancelBalance_hotAccount() {
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("Pobi").build();
+        user.setId(12L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(0L)   // 분할 후 잔액은 슬롯에 있음
+                .balanceSlots(8)
+                .accountNumber("1000000012").build();
+        Transaction transaction = Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
+                .amount(CANCEL_AMOUNT)
+                .balanceSnapshot(9000L)
+                .build();
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(hotAccountService.isHot(account))
+                .willReturn(true);
+        given(hotAccountService.balanceOf(account))
+                .willReturn(9000L + CANCEL_AMOUNT);   // 슬롯 합
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        TransactionDto transactionDto = transactionService.cancelBalance("transactionId",
+                "1000000012", CANCEL_AMOUNT);
+
+        //then
+        verify(hotAccountService, times(1)).credit(account, CANCEL_AMOUNT);
+        assertEquals(0L, account.getBalance());   // account 행은 그대로
+        assertEquals(9000L + CANCEL_AMOUNT, transactionDto.getBalanceSnapshot());
+    }
+
     @Test
     @DisplayName("해당 계좌 없음 - 잔액 사용 취소 실패")
     void cancelTransaction_AccountNotFound() {
@@ -481,6 +694,31 @@ class TransactionServiceTest {
         assertEquals(S,transactionDto.getTransactionResultType());
         assertEquals(CANCEL_AMOUNT, transactionDto.getAmount());
         assertEquals("transactionId", transactionDto.getTransactionId());
+        verify(transactionCache, times(1)).put(transactionDto);   // 조회한 거래를 캐시에 넣음
+    }
+
+    @Test
+    @DisplayName("캐시 적중 - DB 조회 없이 거래 조회")
+    void queryTransaction_CacheHit() {
+        //given
+        given(transactionCache.get(anyString()))
+                .willReturn(Optional.of(TransactionDto.builder()
+                        .accontNumber("1000000012")
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .transactionId("transactionId")
+                        .amount(USE_AMOUNT)
+                        .balanceSnapshot(9800L)
+                        .transactedAt(LocalDateTime.now())
+                        .build()));
+
+        //when
+        TransactionDto transactionDto = transactionService.queryTransaction("transactionId");
+
+        //then
+        assertEquals("transactionId", transactionDto.getTransactionId());
+        assertEquals(USE_AMOUNT, transactionDto.getAmount());
+        verify(transactionRepository, never()).findByTransactionId(anyString());
     }
 
     @Test
@@ -0,0 +1,32 @@
+package com.example.account.support;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 하이버네이트 통계로 실행된 SQL 문 개수를 세는 테스트 도구
+ * 기능별 쿼리 개수를 고정해서 N+1, 불필요한 즉시 로딩이 다시 생기면 테스트가 실패하도록 함
+ */
+public class StatementCounter {
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    public long count(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    public void assertStatementCount(long expected, Runnable action) {
+        long actual = count(action);
+        assertEquals(expected, actual, "SQL statement count");
+    }
+}